@@ -0,0 +1,95 @@
+package mastermind.bench;
+
+import mastermind.engine.BatchScorer;
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+import mastermind.engine.PackedCode;
+import mastermind.engine.Scorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchScoringBenchmark {
+    private static final int CANDIDATES = 4096;
+
+    @Param({"4", "5", "8"})
+    int length;
+
+    @Param({"6", "8", "12"})
+    int symbols;
+
+    private long[] candidates;
+    private long[] histograms;
+    private long[] guesses;
+    private int[] feedback;
+    private int[] partitions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        CodeSpace space = CodeSpace.of(length, symbols);
+        CodeGenerator generator = new CodeGenerator(space, 42);
+        candidates = generator.generate(CANDIDATES);
+        histograms = new long[CANDIDATES];
+        for (int i = 0; i < CANDIDATES; i++) {
+            histograms[i] = PackedCode.histogram(candidates[i], length);
+        }
+        guesses = generator.generate(64);
+        feedback = new int[CANDIDATES];
+        partitions = new int[Scorer.slots(length)];
+    }
+
+    @Benchmark
+    public int[] batchScore() {
+        BatchScorer.score(guesses[next++ & 63], length, candidates, histograms, CANDIDATES, feedback);
+        return feedback;
+    }
+
+    @Benchmark
+    public int[] scalarScore() {
+        long guess = guesses[next++ & 63];
+        long guessHistogram = PackedCode.histogram(guess, length);
+        for (int i = 0; i < CANDIDATES; i++) {
+            feedback[i] = Scorer.score(candidates[i], histograms[i], guess, guessHistogram, length);
+        }
+        return feedback;
+    }
+
+    @Benchmark
+    public int[] batchPartition() {
+        Arrays.fill(partitions, 0);
+        BatchScorer.score(guesses[next++ & 63], length, candidates, histograms, CANDIDATES, feedback);
+        for (int i = 0; i < CANDIDATES; i++) {
+            partitions[feedback[i]]++;
+        }
+        return partitions;
+    }
+
+    @Benchmark
+    public int[] scalarPartition() {
+        Arrays.fill(partitions, 0);
+        long guess = guesses[next++ & 63];
+        long guessHistogram = PackedCode.histogram(guess, length);
+        for (int i = 0; i < CANDIDATES; i++) {
+            partitions[Scorer.score(candidates[i], histograms[i], guess, guessHistogram, length)]++;
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,48 @@
+package mastermind.bench;
+
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Handles on the game's own classes, which live in the default package and so cannot be named from here; JMH in turn
+ * refuses benchmark classes in the default package. The handles are constants, so the JIT inlines the calls and the
+ * benchmarks measure the game's code itself rather than a copy of it.
+ */
+final class GameClasses {
+    // (CodeSpace space, int maxAttempts) -> MastermindGame
+    static final MethodHandle NEW_GAME;
+    // (Object game, String[] secretCode, String[] guess) -> int[]
+    static final MethodHandle CHECK_GUESS;
+    // (String input, CodeSpace space) -> Guess
+    static final MethodHandle NEW_GUESS;
+    // (CodeGenerator generator, long gameId) -> SecretCode
+    static final MethodHandle NEW_SECRET;
+
+    static {
+        try {
+            Class<?> game = Class.forName("MastermindGame");
+            Class<?> guess = Class.forName("Guess");
+            Class<?> secret = Class.forName("SecretCode");
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(game, MethodHandles.lookup());
+            NEW_GAME = lookup.findConstructor(game, MethodType.methodType(void.class, CodeSpace.class, int.class))
+                    .asType(MethodType.methodType(Object.class, CodeSpace.class, int.class));
+            CHECK_GUESS = lookup.findVirtual(game, "checkGuess",
+                            MethodType.methodType(int[].class, String[].class, String[].class))
+                    .asType(MethodType.methodType(int[].class, Object.class, String[].class, String[].class));
+            NEW_GUESS = lookup.findConstructor(guess, MethodType.methodType(void.class, String.class, CodeSpace.class))
+                    .asType(MethodType.methodType(Object.class, String.class, CodeSpace.class));
+            NEW_SECRET = lookup.findConstructor(secret,
+                            MethodType.methodType(void.class, CodeGenerator.class, long.class))
+                    .asType(MethodType.methodType(Object.class, CodeGenerator.class, long.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private GameClasses() {
+    }
+}
@@ -0,0 +1,76 @@
+package mastermind.bench;
+
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+    private static final int BULK = 1 << 20;
+
+    @Param({"4", "8"})
+    int length;
+
+    @Param({"6", "12"})
+    int symbols;
+
+    private CodeGenerator generator;
+    private long[] bulk;
+    private long gameId;
+
+    @Setup
+    public void setUp() {
+        generator = new CodeGenerator(CodeSpace.of(length, symbols), 42);
+        bulk = new long[BULK];
+    }
+
+    @Benchmark
+    public long next() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public long forGame() {
+        return generator.forGame(gameId++);
+    }
+
+    @Benchmark
+    public long[] bulkFill() {
+        generator.fill(bulk);
+        return bulk;
+    }
+
+    @Benchmark
+    public Object secretCode() throws Throwable {
+        return (Object) GameClasses.NEW_SECRET.invokeExact(generator, gameId++);
+    }
+
+    // Mirrors the allocation pattern SecretCode used before packed generation: a new Random and String[] per code.
+    @Benchmark
+    public String[] perCallRandom() {
+        Random random = new Random();
+        String[] code = new String[length];
+        for (int i = 0; i < length; i++) {
+            code[i] = String.valueOf(random.nextInt(symbols) + 1);
+        }
+        return code;
+    }
+}
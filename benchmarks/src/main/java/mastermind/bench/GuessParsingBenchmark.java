@@ -0,0 +1,59 @@
+package mastermind.bench;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.GuessParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuessParsingBenchmark {
+    private final String valid = "1RB6";
+    private final String invalid = "1RZ6";
+    private final byte[] validBytes = valid.getBytes(StandardCharsets.US_ASCII);
+    private final CodeSpace space = CodeSpace.of(4, true, true);
+    private final GuessParser parser = space.parser();
+
+    @Benchmark
+    public long parsedValidGuess() {
+        return parser.parse(valid);
+    }
+
+    @Benchmark
+    public long parsedInvalidGuess() {
+        return parser.parse(invalid);
+    }
+
+    @Benchmark
+    public long parsedValidBytes() {
+        return parser.parse(validBytes, 0, validBytes.length);
+    }
+
+    @Benchmark
+    public Object validGuess() throws Throwable {
+        return (Object) GameClasses.NEW_GUESS.invokeExact(valid, space);
+    }
+
+    @Benchmark
+    public Object invalidGuess() throws Throwable {
+        try {
+            return (Object) GameClasses.NEW_GUESS.invokeExact(invalid, space);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package mastermind.bench;
+
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+import mastermind.engine.PackedCode;
+import mastermind.engine.Scorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+    private static final int PAIRS = 1024;
+
+    @Param({"4", "5", "6", "8"})
+    int length;
+
+    @Param({"6", "8", "12"})
+    int symbols;
+
+    private long[] secrets;
+    private long[] guesses;
+    private String[][] secretStrings;
+    private String[][] guessStrings;
+    private Object game;
+    private int next;
+
+    @Setup
+    public void setUp() throws Throwable {
+        CodeSpace space = CodeSpace.of(length, symbols);
+        game = (Object) GameClasses.NEW_GAME.invokeExact(space, 10);
+        CodeGenerator generator = new CodeGenerator(space, 42);
+        secrets = generator.generate(PAIRS);
+        guesses = new long[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            guesses[i] = generator.forGame(i);
+        }
+        secretStrings = new String[PAIRS][];
+        guessStrings = new String[PAIRS][];
+        for (int i = 0; i < PAIRS; i++) {
+            secretStrings[i] = PackedCode.decode(secrets[i], length, space.symbols());
+            guessStrings[i] = PackedCode.decode(guesses[i], length, space.symbols());
+        }
+    }
+
+    @Benchmark
+    public int packedScore() {
+        int i = next++ & (PAIRS - 1);
+        return Scorer.score(secrets[i], guesses[i], length);
+    }
+
+    @Benchmark
+    public int stringCheckGuess() throws Throwable {
+        int i = next++ & (PAIRS - 1);
+        return ((int[]) GameClasses.CHECK_GUESS.invokeExact(game, secretStrings[i], guessStrings[i]))[0];
+    }
+}
@@ -0,0 +1,57 @@
+package mastermind.bench;
+
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+import mastermind.engine.Scorer;
+import mastermind.solver.Solver;
+import mastermind.solver.Strategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+    @Param({"MINIMAX", "ENTROPY", "EXPECTED_SIZE"})
+    Strategy strategy;
+
+    private CodeSpace space;
+    private CodeGenerator generator;
+    private Solver solver;
+    private long gameId;
+
+    @Setup
+    public void setUp() {
+        space = CodeSpace.of(4, false, false);
+        generator = new CodeGenerator(space, 42);
+        solver = new Solver(space, strategy);
+    }
+
+    @Benchmark
+    public int fullGame() {
+        long secret = generator.forGame(gameId++);
+        int solved = Scorer.solved(space.length());
+        solver.reset();
+        int feedback;
+        do {
+            long guess = solver.nextGuess();
+            feedback = Scorer.score(secret, guess, space.length());
+            solver.onFeedback(guess, feedback);
+        } while (feedback != solved);
+        return solver.moves();
+    }
+}
@@ -0,0 +1,89 @@
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+class GameController implements AutoCloseable {
+    private static final long SLOW_FRAME_NANOS = 1_000_000_000L / 60;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "game-controller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AnimationTimer frameTimer;
+
+    private long events;
+    private long totalEventNanos;
+    private long maxEventNanos;
+    private long frames;
+    private long slowFrames;
+    private long totalFrameNanos;
+    private long maxFrameNanos;
+    private long lastFrame;
+
+    record GuessResult(int[] feedback, int remaining) {
+    }
+
+    GameController() {
+        frameTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                recordFrame(now);
+            }
+        };
+        frameTimer.start();
+    }
+
+    // Exactly one of the callbacks runs on the FX thread, so the caller can always unlock its input.
+    void submitGuess(MastermindGame game, String[] guess, Consumer<GuessResult> onResult,
+                     Consumer<RuntimeException> onFailure) {
+        long start = System.nanoTime();
+        executor.execute(() -> {
+            try {
+                int[] feedback = game.checkGuess(game.secretCode.getCode(), guess);
+                game.recordGuess(guess, feedback);
+                int remaining = game.narrowCandidates(guess, feedback);
+                Platform.runLater(() -> {
+                    onResult.accept(new GuessResult(feedback, remaining));
+                    recordEvent(System.nanoTime() - start);
+                });
+            } catch (RuntimeException e) {
+                Platform.runLater(() -> onFailure.accept(e));
+            }
+        });
+    }
+
+    private void recordEvent(long nanos) {
+        events++;
+        totalEventNanos += nanos;
+        maxEventNanos = Math.max(maxEventNanos, nanos);
+    }
+
+    private void recordFrame(long now) {
+        if (lastFrame != 0) {
+            long frameNanos = now - lastFrame;
+            frames++;
+            totalFrameNanos += frameNanos;
+            maxFrameNanos = Math.max(maxFrameNanos, frameNanos);
+            if (frameNanos > SLOW_FRAME_NANOS * 2) {
+                slowFrames++;
+            }
+        }
+        lastFrame = now;
+    }
+
+    String summary() {
+        return String.format("Guesses handled: %d (mean %.2f ms, max %.2f ms); frames: %d (mean %.2f ms, max %.2f ms, %d slow)",
+                events, events == 0 ? 0 : totalEventNanos / 1e6 / events, maxEventNanos / 1e6,
+                frames, frames == 0 ? 0 : totalFrameNanos / 1e6 / frames, maxFrameNanos / 1e6, slowFrames);
+    }
+
+    @Override
+    public void close() {
+        frameTimer.stop();
+        executor.shutdownNow();
+    }
+}
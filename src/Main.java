@@ -1,64 +1,66 @@
-import java.util.Random;
+import mastermind.engine.AdversarialHost;
+import mastermind.engine.CandidateTracker;
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+import mastermind.engine.GuessParser;
+import mastermind.engine.PackedCode;
+import mastermind.engine.Scorer;
+import mastermind.journal.GameJournal;
+import mastermind.metrics.Metrics;
+import mastermind.solver.DecisionTree;
+import mastermind.solver.OpeningBook;
+import mastermind.stats.GameMode;
+import mastermind.stats.StatsStore;
+
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 class SecretCode {
+    private long packedCode;
     private String[] code;
 
     public SecretCode(int length, boolean useColors, boolean mixed) {
-        this.code = generateCode(length, useColors, mixed);
-    }
-
-    private String[] generateCode(int length, boolean useColors, boolean mixed) {
-        Random random = new Random();
-        String[] code = new String[length];
-        String[] colors = {"R", "G", "B", "Y", "P", "O"};
-        for (int i = 0; i < length; i++) {
-            if (mixed) {
-                if (random.nextBoolean()) {
-                    code[i] = String.valueOf(random.nextInt(6) + 1);
-                } else {
-                    code[i] = colors[random.nextInt(colors.length)];
-                }
-            } else if (useColors) {
-                code[i] = colors[random.nextInt(colors.length)];
-            } else {
-                code[i] = String.valueOf(random.nextInt(6) + 1);
-            }
-        }
-        return code;
+        this(CodeSpace.of(length, useColors, mixed), ThreadLocalRandom.current());
+    }
+
+    public SecretCode(CodeSpace space) {
+        this(space, ThreadLocalRandom.current());
+    }
+
+    public SecretCode(CodeGenerator generator, long gameId) {
+        this(generator.space(), generator.forGame(gameId));
+    }
+
+    private SecretCode(CodeSpace space, RandomGenerator random) {
+        this(space, CodeGenerator.generate(space, random));
+    }
+
+    SecretCode(CodeSpace space, long packedCode) {
+        this.packedCode = packedCode;
+        this.code = PackedCode.decode(packedCode, space.length(), space.symbols());
     }
 
     public String[] getCode() {
         return this.code;
     }
+
+    public long getPackedCode() {
+        return this.packedCode;
+    }
 }
 
 class Guess {
     private String[] guess;
 
-    public Guess(String input, int length, boolean useColors, boolean mixed) throws IllegalArgumentException {
-        if (input.length() != length) {
-            throw new IllegalArgumentException("Invalid guess length");
-        }
-
-        this.guess = new String[length];
-        for (int i = 0; i < length; i++) {
-            char ch = input.charAt(i);
-            if (mixed) {
-                if (!(Character.isDigit(ch) && ch >= '1' && ch <= '6') && !(ch >= 'A' && ch <= 'F')) {
-                    throw new IllegalArgumentException("Invalid input character");
-                }
-            } else if (useColors) {
-                if (!(ch >= 'A' && ch <= 'F')) {
-                    throw new IllegalArgumentException("Invalid color input");
-                }
-            } else {
-                if (!(Character.isDigit(ch) && ch >= '1' && ch <= '6')) {
-                    throw new IllegalArgumentException("Invalid number input");
-                }
-            }
-            this.guess[i] = String.valueOf(ch);
+    public Guess(String input, CodeSpace space) throws IllegalArgumentException {
+        long code = space.parser().parse(input);
+        if (!GuessParser.isValid(code)) {
+            throw new IllegalArgumentException(GuessParser.describe(code));
         }
+        this.guess = PackedCode.decode(code, space.length(), space.symbols());
     }
 
     public Guess(String[] formattedGuess, int length, boolean useColors, boolean mixed) {
@@ -70,51 +72,176 @@ class Guess {
 }
 
 class MastermindGame {
-    SecretCode secretCode;
+    // Replaced by the adversary on the scoring thread and read by the UI thread.
+    volatile SecretCode secretCode;
+    CodeSpace space;
     int maxAttempts;
     boolean useColors;
     boolean mixed;
+    CandidateTracker candidates;
+    GameJournal journal;
+    long gameId;
+    DecisionTree strategy;
+    long history = OpeningBook.ROOT;
+    StatsStore stats;
+    String player;
+    long startNanos;
+    AdversarialHost adversary;
 
     public MastermindGame(int codeLength, int maxAttempts, boolean useColors, boolean mixed) {
-        this.secretCode = new SecretCode(codeLength, useColors, mixed);
+        this(new SecretCode(codeLength, useColors, mixed), maxAttempts, useColors, mixed);
+    }
+
+    public MastermindGame(SecretCode secretCode, int maxAttempts, boolean useColors, boolean mixed) {
+        this(secretCode, CodeSpace.of(secretCode.getCode().length, useColors, mixed), maxAttempts, useColors, mixed);
+    }
+
+    public MastermindGame(CodeSpace space, int maxAttempts) {
+        this(new SecretCode(space), space, maxAttempts, false, false);
+    }
+
+    MastermindGame(SecretCode secretCode, CodeSpace space, int maxAttempts, boolean useColors, boolean mixed) {
+        this.secretCode = secretCode;
+        this.space = space;
         this.maxAttempts = maxAttempts;
         this.useColors = useColors;
         this.mixed = mixed;
+        this.startNanos = System.nanoTime();
+        Metrics.GAMES_STARTED.increment();
     }
 
     public void start() {
         Scanner scanner = new Scanner(System.in);
         System.out.println("Welcome to Mastermind!");
         System.out.println("Try to guess the secret code. You have " + maxAttempts + " attempts.");
-        System.out.println("Use digits 1-6 for numbers and letters A-F for colors.");
+        if (space.symbols().equals(PackedCode.symbols(useColors, mixed))) {
+            System.out.println("Use digits 1-6 for numbers and letters R, G, B, Y, P, O for colors.");
+        } else {
+            System.out.println("Enter " + space.length() + " symbols from: " + space.symbols());
+        }
+        if (adversary != null) {
+            System.out.println("Beware: the host has not picked a code yet and will dodge your guesses.");
+        }
 
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (strategy != null && strategy.guess(history) != OpeningBook.MISSING) {
+                System.out.println("Suggested guess: " + space.format(strategy.guess(history)));
+            }
             System.out.print("Attempt " + attempt + ": ");
             try {
                 String input = scanner.nextLine().toUpperCase();
-                Guess guess = new Guess(input, secretCode.getCode().length, useColors, mixed);
+                long parseStart = Metrics.now();
+                Guess guess = new Guess(input, space);
+                Metrics.PARSE_NANOS.recordSince(parseStart);
                 int[] feedback = checkGuess(secretCode.getCode(), guess.getGuess());
+                recordGuess(guess.getGuess(), feedback);
 
                 if (feedback[0] == secretCode.getCode().length) {
+                    recordOutcome(true, attempt);
                     System.out.println("Congratulations! You guessed the secret code correctly.");
                     return;
                 }
 
                 System.out.println("Correct digits/colors in correct positions: " + feedback[0]);
                 System.out.println("Correct digits/colors in wrong positions: " + feedback[1]);
+                System.out.println("Codes still possible: " + narrowCandidates(guess.getGuess(), feedback));
             } catch (IllegalArgumentException e) {
+                Metrics.GUESSES_REJECTED.increment();
                 System.out.println(e.getMessage());
                 attempt--;
             }
         }
 
+        recordOutcome(false, maxAttempts);
         System.out.print("Out of attempts! The secret code was: ");
         for (String elem : secretCode.getCode()) {
             System.out.print(elem);
         }
     }
 
+    void record(GameJournal journal) {
+        this.journal = journal;
+        this.gameId = journal.newGameId();
+        // An adversary has no secret until the game ends; recordOutcome journals the one it settled on.
+        journal.gameCreated(gameId, space, adversary != null ? GameJournal.UNDETERMINED : secretCode.getPackedCode(),
+                maxAttempts);
+    }
+
+    void recordGuess(String[] guess, int[] feedback) {
+        if (journal != null) {
+            journal.guess(gameId, pack(guess), Scorer.feedback(feedback[0], feedback[1]));
+        }
+    }
+
+    // Answers come from the adversary from now on; secretCode always holds a code consistent with them.
+    void useAdversary() {
+        if (journal != null) {
+            throw new IllegalStateException("The adversary must be chosen before the game is journalled");
+        }
+        this.adversary = new AdversarialHost(space);
+        this.secretCode = new SecretCode(space, adversary.representative());
+    }
+
+    void useStrategy(DecisionTree strategy) {
+        this.strategy = strategy;
+        this.history = OpeningBook.ROOT;
+    }
+
+    int narrowCandidates(String[] guess, int[] feedback) {
+        long code = pack(guess);
+        int packedFeedback = Scorer.feedback(feedback[0], feedback[1]);
+        // Suggestions only follow the strategy's own line of play.
+        history = strategy != null && strategy.guess(history) == code
+                ? OpeningBook.extend(history, packedFeedback, space.length())
+                : OpeningBook.MISSING;
+        return narrowCandidates(code, packedFeedback);
+    }
+
+    // Must see every scored guess; the tracker is only allocated when the first one arrives.
+    int narrowCandidates(long guess, int feedback) {
+        if (adversary != null) {
+            return adversary.remaining();
+        }
+        if (candidates == null) {
+            candidates = new CandidateTracker(space);
+        }
+        return candidates.narrow(guess, feedback);
+    }
+
+    long pack(String[] guess) {
+        return PackedCode.encode(guess, space.symbols());
+    }
+
+    void trackStats(StatsStore stats, String player) {
+        this.stats = stats;
+        this.player = player;
+    }
+
+    GameMode mode() {
+        return GameMode.of(space);
+    }
+
+    void recordOutcome(boolean won, int attempts) {
+        (won ? Metrics.GAMES_WON : Metrics.GAMES_LOST).increment();
+        Metrics.ATTEMPTS_USED.record(attempts);
+        // Games against the adversary or played with a strategy's help are not comparable, so they are not ranked.
+        if (stats != null && adversary == null && strategy == null) {
+            stats.record(player, mode(), won, attempts, (System.nanoTime() - startNanos) / 1_000_000);
+        }
+        if (journal != null) {
+            journal.outcome(gameId, won, attempts,
+                    adversary != null ? secretCode.getPackedCode() : GameJournal.UNDETERMINED);
+        }
+    }
+
     int[] checkGuess(String[] secretCode, String[] guess) {
+        long start = Metrics.now();
+        Metrics.GUESSES_SCORED.increment();
+        if (adversary != null) {
+            int feedback = respond(pack(guess));
+            Metrics.SCORE_NANOS.recordSince(start);
+            return new int[]{Scorer.black(feedback), Scorer.white(feedback)};
+        }
         int correctPositions = 0;
         int correctNumbersOrColors = 0;
         boolean[] usedInSecret = new boolean[secretCode.length];
@@ -140,23 +267,98 @@ class MastermindGame {
             }
         }
 
+        Metrics.SCORE_NANOS.recordSince(start);
         return new int[]{correctPositions, correctNumbersOrColors};
     }
+
+    int checkGuess(long secretCode, long guess) {
+        Metrics.GUESSES_SCORED.increment();
+        if (adversary != null) {
+            return respond(guess);
+        }
+        return Scorer.score(secretCode, guess, this.secretCode.getCode().length);
+    }
+
+    private int respond(long guess) {
+        int feedback = adversary.respond(guess);
+        secretCode = new SecretCode(space, adversary.representative());
+        return feedback;
+    }
 }
 
 class Mastermind {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            MastermindCli.run(args);
+            return;
+        }
         Scanner scanner = new Scanner(System.in);
         System.out.println("Select Game Mode:");
         System.out.println("1. Numbers Only");
         System.out.println("2. Colors Only");
         System.out.println("3. Mixed (Numbers and Colors)");
+        System.out.println("4. Custom (Choose Length and Symbols)");
 
         int mode = scanner.nextInt();
         boolean useColors = mode == 2;
         boolean mixed = mode == 3;
 
-        MastermindGame game = new MastermindGame(4, 10, useColors, mixed);
-        game.start();
+        MastermindGame game = null;
+        if (mode == 4) {
+            while (game == null) {
+                System.out.print("Code length: ");
+                int length = scanner.nextInt();
+                System.out.print("Number of symbols: ");
+                int symbols = scanner.nextInt();
+                System.out.print("Attempts: ");
+                int attempts = scanner.nextInt();
+                try {
+                    if (attempts < 1) {
+                        throw new IllegalArgumentException("At least one attempt is needed");
+                    }
+                    game = new MastermindGame(CodeSpace.of(length, symbols), attempts);
+                } catch (IllegalArgumentException e) {
+                    System.out.println(e.getMessage() + ". Please try again.");
+                }
+            }
+        } else {
+            game = new MastermindGame(4, 10, useColors, mixed);
+        }
+        if (Boolean.getBoolean("mastermind.adversary")) {
+            try {
+                game.useAdversary();
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage() + "; playing against a fixed secret.");
+            }
+        }
+        String strategyPath = System.getProperty("mastermind.strategy");
+        if (strategyPath != null) {
+            try {
+                game.useStrategy(DecisionTree.load(Paths.get(strategyPath), game.space));
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Could not load strategy: " + e.getMessage());
+            }
+        }
+        String player = System.getProperty("mastermind.player", System.getProperty("user.name"));
+        try (StatsStore stats = StatsStore.open(StatsStore.defaultPath(), 30)) {
+            game.trackStats(stats, player);
+            play(game);
+            System.out.println();
+            System.out.print(stats.summary(player, game.mode(), 5));
+        }
+    }
+
+    private static void play(MastermindGame game) {
+        String journalPath = System.getProperty("mastermind.journal");
+        if (journalPath == null) {
+            game.start();
+            return;
+        }
+        try (GameJournal journal = GameJournal.open(Paths.get(journalPath))) {
+            game.record(journal);
+            game.start();
+        } catch (IOException e) {
+            System.out.println("Could not open game journal: " + e.getMessage());
+        }
     }
 }
@@ -0,0 +1,208 @@
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+import mastermind.engine.GuessParser;
+import mastermind.engine.Scorer;
+import mastermind.solver.BookGuesser;
+import mastermind.solver.DecisionTree;
+import mastermind.solver.Guesser;
+import mastermind.solver.OpeningBook;
+import mastermind.solver.Solver;
+import mastermind.solver.Strategy;
+import mastermind.solver.SymmetricSolver;
+import mastermind.solver.TreeGuesser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+// Non-interactive entry point: everything comes from flags, and output is one line per scored guess.
+class MastermindCli {
+    private static final int FULL_SOLVER_LIMIT = 10_000;
+    private static final int BOOK_DEPTH = 3;
+    private static final int BOOK_CACHE = 1 << 16;
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: Mastermind [--mode numbers|colors|mixed|custom] [--length N] [--alphabet N|SYMBOLS]",
+            "                  [--attempts N] [--seed N] [--game N] [--strategy minimax|entropy|expected_size|optimal]",
+            "                  [--tables DIR] [--precompute] [--timing] [--adversary]",
+            "Without --strategy, guesses are read from standard input, one per line.",
+            "Output: <attempt> <guess> <black> <white> <codes left>, then WIN <attempts> or LOSE <secret>.");
+
+    private MastermindCli() {
+    }
+
+    static void run(String[] args) {
+        Map<String, String> flags;
+        CodeSpace space;
+        int attempts;
+        long seed;
+        long gameId;
+        try {
+            flags = parse(args);
+            space = space(flags);
+            attempts = Integer.parseInt(flags.getOrDefault("attempts", "10"));
+            if (attempts < 1) {
+                throw new IllegalArgumentException("--attempts must be at least 1: " + attempts);
+            }
+            seed = flags.containsKey("seed") ? Long.parseLong(flags.get("seed")) : System.nanoTime();
+            gameId = Long.parseLong(flags.getOrDefault("game", "0"));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        if (flags.containsKey("tables")) {
+            System.setProperty("mastermind.tableDir", flags.get("tables"));
+        }
+        String strategy = flags.get("strategy");
+        try {
+            if (flags.containsKey("precompute")) {
+                precompute(space, strategy == null ? Strategy.MINIMAX.name() : strategy);
+                return;
+            }
+            SecretCode secret = new SecretCode(new CodeGenerator(space, seed), gameId);
+            MastermindGame game = new MastermindGame(secret, space, attempts, false, false);
+            if (flags.containsKey("adversary")) {
+                game.useAdversary();
+            }
+            Guesser guesser = strategy == null ? null : guesser(space, strategy);
+            play(game, guesser, flags.containsKey("timing"));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void play(MastermindGame game, Guesser guesser, boolean timing) throws IOException {
+        CodeSpace space = game.space;
+        int solved = Scorer.solved(space.length());
+        BufferedReader in = guesser != null ? null
+                : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        StringBuilder out = new StringBuilder();
+        for (int attempt = 1; attempt <= game.maxAttempts; attempt++) {
+            long guess;
+            if (guesser != null) {
+                guess = guesser.nextGuess();
+            } else {
+                String line = in.readLine();
+                if (line == null) {
+                    break;
+                }
+                guess = space.parser().parse(line.trim());
+                if (!GuessParser.isValid(guess)) {
+                    System.out.println("ERR " + GuessParser.describe(guess));
+                    attempt--;
+                    continue;
+                }
+            }
+            int feedback = game.checkGuess(game.secretCode.getPackedCode(), guess);
+            int remaining = game.narrowCandidates(guess, feedback);
+            out.setLength(0);
+            out.append(attempt).append(' ').append(space.format(guess)).append(' ')
+                    .append(Scorer.black(feedback)).append(' ').append(Scorer.white(feedback)).append(' ')
+                    .append(remaining);
+            System.out.println(out);
+            if (timing && attempt == 1) {
+                long now = System.currentTimeMillis();
+                System.err.println("first guess scored " + (now - ManagementFactory.getRuntimeMXBean().getStartTime())
+                        + " ms after JVM start");
+            }
+            if (feedback == solved) {
+                game.recordOutcome(true, attempt);
+                System.out.println("WIN " + attempt);
+                return;
+            }
+            if (guesser != null) {
+                guesser.onFeedback(guess, feedback);
+            }
+        }
+        game.recordOutcome(false, game.maxAttempts);
+        System.out.println("LOSE " + space.format(game.secretCode.getPackedCode()));
+    }
+
+    // Uses the persisted opening book or optimal tree when present; missing tables are never built here.
+    private static Guesser guesser(CodeSpace space, String name) throws IOException {
+        if (name.equalsIgnoreCase("optimal")) {
+            Path path = DecisionTree.defaultPath(space);
+            if (!Files.isRegularFile(path)) {
+                throw new IllegalArgumentException("No optimal strategy at " + path + "; run OptimalSearch first");
+            }
+            return new TreeGuesser(DecisionTree.load(path, space), solver(space, Strategy.MINIMAX));
+        }
+        Strategy strategy = Strategy.valueOf(name.toUpperCase());
+        Path book = OpeningBook.defaultPath(space, strategy);
+        if (Files.isRegularFile(book)) {
+            return new BookGuesser(OpeningBook.load(book, space, BOOK_CACHE), solver(space, strategy));
+        }
+        return solver(space, strategy);
+    }
+
+    private static Guesser solver(CodeSpace space, Strategy strategy) {
+        return space.size() <= FULL_SOLVER_LIMIT ? new Solver(space, strategy) : new SymmetricSolver(space, strategy);
+    }
+
+    private static void precompute(CodeSpace space, String name) {
+        if (name.equalsIgnoreCase("optimal")) {
+            System.out.println("The optimal strategy is precomputed with mastermind.solver.OptimalSearch");
+            return;
+        }
+        if (space.size() > FULL_SOLVER_LIMIT) {
+            System.out.println("No opening book for " + space + ": too large for the full solver");
+            return;
+        }
+        Strategy strategy = Strategy.valueOf(name.toUpperCase());
+        OpeningBook book = OpeningBook.loadOrBuild(space, strategy, BOOK_DEPTH, BOOK_CACHE);
+        System.out.println("Opening book with " + book.size() + " positions at " + OpeningBook.defaultPath(space, strategy));
+    }
+
+    private static CodeSpace space(Map<String, String> flags) {
+        int length = Integer.parseInt(flags.getOrDefault("length", "4"));
+        String mode = flags.getOrDefault("mode", flags.containsKey("alphabet") ? "custom" : "numbers");
+        if (flags.containsKey("alphabet") && !mode.equals("custom")) {
+            throw new IllegalArgumentException("--alphabet only applies to --mode custom, not " + mode);
+        }
+        switch (mode) {
+            case "numbers":
+                return CodeSpace.of(length, false, false);
+            case "colors":
+                return CodeSpace.of(length, true, false);
+            case "mixed":
+                return CodeSpace.of(length, true, true);
+            case "custom":
+                String alphabet = flags.getOrDefault("alphabet", "6");
+                return alphabet.chars().allMatch(Character::isDigit) && alphabet.length() <= 2
+                        ? CodeSpace.of(length, Integer.parseInt(alphabet))
+                        : new CodeSpace(length, alphabet.toUpperCase());
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> flags = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            switch (name) {
+                case "precompute", "timing", "adversary" -> flags.put(name, "true");
+                case "mode", "length", "alphabet", "attempts", "seed", "game", "strategy", "tables" -> {
+                    if (i + 1 == args.length) {
+                        throw new IllegalArgumentException("Missing value for --" + name);
+                    }
+                    flags.put(name, args[++i]);
+                }
+                default -> throw new IllegalArgumentException("Unknown flag: --" + name);
+            }
+        }
+        return flags;
+    }
+}
@@ -7,13 +7,31 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
+import mastermind.journal.GameJournal;
+import mastermind.stats.StatsStore;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
 public class MastermindGUI extends Application {
 
+    private static final Font TITLE_FONT = Font.font("Monospaced", 32);
+    private static final Font RESULT_FONT = Font.font("Monospaced", 28);
+    private static final Font HEADING_FONT = Font.font("Monospaced", 24);
+    private static final Font LABEL_FONT = Font.font("Monospaced", 20);
+    private static final Font BUTTON_FONT = Font.font("Monospaced", 18);
+
     private MastermindGame game;
+    private GameController controller;
+    private Scene modeSelectionScene;
+    private CheckBox adversaryBox;
+    private Scene resultScene;
+    private Label resultLabel;
+    private final GameScreen[] gameScreens = new GameScreen[3];
+    private GameScreen screen;
+    private boolean scoring;
     private VBox mainLayout;
     private HBox colorButtonsLayout;
     private Label feedbackLabel;
@@ -21,9 +39,36 @@ public class MastermindGUI extends Application {
     private Label attemptsLabel;
     private List<String> currentGuess;
     private int attempt;
+    private GameJournal journal;
+    private StatsStore stats;
+    private final String player = System.getProperty("mastermind.player", System.getProperty("user.name"));
+
+    private static final class GameScreen {
+        Scene scene;
+        VBox layout;
+        HBox colorButtons;
+        Label feedbackLabel;
+        Label currentGuessLabel;
+        Label attemptsLabel;
+        TextField guessInput;
+        Button submitButton;
+        Button undoButton;
+    }
 
     @Override
     public void start(Stage primaryStage) {
+        String journalPath = System.getProperty("mastermind.journal");
+        if (journalPath != null) {
+            try {
+                journal = GameJournal.open(Paths.get(journalPath));
+            } catch (IOException e) {
+                System.err.println("Could not open game journal: " + e.getMessage());
+            }
+        }
+
+        stats = StatsStore.open(StatsStore.defaultPath(), 30);
+        controller = new GameController();
+
         primaryStage.setTitle("Mastermind Game");
         primaryStage.setResizable(true);
 
@@ -35,21 +80,28 @@ public class MastermindGUI extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() throws IOException {
+        controller.close();
+        System.out.println(controller.summary());
+        if (journal != null) {
+            journal.close();
+        }
+        stats.close();
+    }
+
     private Scene createIntroScene(Stage primaryStage) {
         VBox introLayout = new VBox(20);
         introLayout.setAlignment(Pos.CENTER);
         introLayout.setStyle("-fx-background-color: linear-gradient(to bottom, #1e3c72, #2a5298); -fx-padding: 20;");
 
         Label titleLabel = new Label("Welcome to Mastermind");
-        titleLabel.setFont(Font.font("Monospaced", 32));
+        titleLabel.setFont(TITLE_FONT);
         titleLabel.setTextFill(Color.WHITE);
 
         Button startButton = new Button("Start");
-        startButton.setFont(Font.font("Monospaced", 20));
-        startButton.setOnAction(e -> {
-            Scene modeSelectionScene = createModeSelectionScene(primaryStage);
-            primaryStage.setScene(modeSelectionScene);
-        });
+        startButton.setFont(LABEL_FONT);
+        startButton.setOnAction(e -> showModeSelection(primaryStage));
 
         introLayout.getChildren().addAll(titleLabel, startButton);
         Scene scene = new Scene(introLayout, 400, 300);
@@ -60,28 +112,40 @@ public class MastermindGUI extends Application {
         return scene;
     }
 
+    private void showModeSelection(Stage primaryStage) {
+        if (modeSelectionScene == null) {
+            modeSelectionScene = createModeSelectionScene(primaryStage);
+        }
+        primaryStage.setScene(modeSelectionScene);
+    }
+
     private Scene createModeSelectionScene(Stage primaryStage) {
         VBox modeLayout = new VBox(10);
         modeLayout.setAlignment(Pos.CENTER);
         modeLayout.setStyle("-fx-background-color: linear-gradient(to bottom, #1e3c72, #2a5298); -fx-padding: 20;");
 
         Label modeLabel = new Label("Select Game Mode:");
-        modeLabel.setFont(Font.font("Monospaced", 24));
+        modeLabel.setFont(HEADING_FONT);
         modeLabel.setTextFill(Color.WHITE);
 
         Button numbersOnlyButton = new Button("Numbers Only");
         Button colorsOnlyButton = new Button("Colors Only");
         Button mixedButton = new Button("Mixed (Numbers and Colors)");
 
-        numbersOnlyButton.setFont(Font.font("Monospaced", 18));
-        colorsOnlyButton.setFont(Font.font("Monospaced", 18));
-        mixedButton.setFont(Font.font("Monospaced", 18));
+        numbersOnlyButton.setFont(BUTTON_FONT);
+        colorsOnlyButton.setFont(BUTTON_FONT);
+        mixedButton.setFont(BUTTON_FONT);
 
         numbersOnlyButton.setOnAction(e -> startGame(primaryStage, false, false));
         colorsOnlyButton.setOnAction(e -> startGame(primaryStage, true, false));
         mixedButton.setOnAction(e -> startGame(primaryStage, true, true));
 
-        modeLayout.getChildren().addAll(modeLabel, numbersOnlyButton, colorsOnlyButton, mixedButton);
+        adversaryBox = new CheckBox("Evil host (code chosen as you guess)");
+        adversaryBox.setFont(BUTTON_FONT);
+        adversaryBox.setTextFill(Color.WHITE);
+        adversaryBox.setSelected(Boolean.getBoolean("mastermind.adversary"));
+
+        modeLayout.getChildren().addAll(modeLabel, numbersOnlyButton, colorsOnlyButton, mixedButton, adversaryBox);
 
         Scene scene = new Scene(modeLayout, 400, 300);
 
@@ -93,9 +157,38 @@ public class MastermindGUI extends Application {
 
     private void startGame(Stage primaryStage, boolean useColors, boolean mixed) {
         game = new MastermindGame(4, 10, useColors, mixed);
+        if (adversaryBox.isSelected()) {
+            game.useAdversary();
+        }
+        if (journal != null) {
+            game.record(journal);
+        }
+        game.trackStats(stats, player);
         attempt = 0;
         currentGuess = new ArrayList<>();
 
+        int mode = mixed ? 2 : useColors ? 1 : 0;
+        if (gameScreens[mode] == null) {
+            gameScreens[mode] = createGameScreen(primaryStage, useColors, mixed);
+        }
+        screen = gameScreens[mode];
+        setScoring(false);
+        mainLayout = screen.layout;
+        colorButtonsLayout = screen.colorButtons;
+        feedbackLabel = screen.feedbackLabel;
+        currentGuessLabel = screen.currentGuessLabel;
+        attemptsLabel = screen.attemptsLabel;
+
+        feedbackLabel.setText("You have " + game.maxAttempts + " attempts. Good luck!");
+        attemptsLabel.setText("Attempts Left: " + (game.maxAttempts - attempt));
+        updateCurrentGuessLabel();
+        screen.guessInput.clear();
+
+        primaryStage.setScene(screen.scene);
+    }
+
+    private GameScreen createGameScreen(Stage primaryStage, boolean useColors, boolean mixed) {
+        GameScreen screen = new GameScreen();
         mainLayout = new VBox(10);
         mainLayout.setAlignment(Pos.CENTER);
         mainLayout.setStyle("-fx-background-color: linear-gradient(to bottom, #1e3c72, #2a5298); -fx-padding: 20;");
@@ -103,31 +196,31 @@ public class MastermindGUI extends Application {
         Label instructions = new Label(useColors ?
                 "Click the colors or enter numbers to make a guess:" :
                 "Enter your guess (Numbers 1-6):");
-        instructions.setFont(Font.font("Monospaced", 20));
+        instructions.setFont(LABEL_FONT);
         instructions.setTextFill(Color.WHITE);
 
         currentGuessLabel = new Label("Current Guess: ");
-        currentGuessLabel.setFont(Font.font("Monospaced", 20));
+        currentGuessLabel.setFont(LABEL_FONT);
         currentGuessLabel.setTextFill(Color.WHITE);
 
-        feedbackLabel = new Label("You have " + game.maxAttempts + " attempts. Good luck!");
-        feedbackLabel.setFont(Font.font("Monospaced", 20));
+        feedbackLabel = new Label();
+        feedbackLabel.setFont(LABEL_FONT);
         feedbackLabel.setTextFill(Color.WHITE);
 
-        attemptsLabel = new Label("Attempts Left: " + (game.maxAttempts - attempt));
-        attemptsLabel.setFont(Font.font("Monospaced", 20));
+        attemptsLabel = new Label();
+        attemptsLabel.setFont(LABEL_FONT);
         attemptsLabel.setTextFill(Color.WHITE);
 
         TextField guessInput = new TextField();
-        guessInput.setFont(Font.font("Monospaced", 18));
+        guessInput.setFont(BUTTON_FONT);
         guessInput.setPromptText(mixed ? "Enter numbers here (optional)" : "Enter your guess here");
 
         Button submitButton = new Button("Submit");
-        submitButton.setFont(Font.font("Monospaced", 18));
+        submitButton.setFont(BUTTON_FONT);
         submitButton.setOnAction(e -> {
             if (useColors) {
                 if (mixed) {
-                    handleMixedGuess(guessInput);
+                    handleMixedGuess(guessInput, primaryStage);
                 } else {
                     handleGuess(primaryStage);
                 }
@@ -137,9 +230,10 @@ public class MastermindGUI extends Application {
         });
 
         Button undoButton = new Button("Undo");
-        undoButton.setFont(Font.font("Monospaced", 18));
+        undoButton.setFont(BUTTON_FONT);
         undoButton.setOnAction(e -> undoLastGuess());
 
+        colorButtonsLayout = null;
         if (useColors) {
             colorButtonsLayout = createColorButtons();
             if (mixed) {
@@ -152,23 +246,23 @@ public class MastermindGUI extends Application {
         }
 
         Button restartButton = new Button("Restart Game");
-        restartButton.setFont(Font.font("Monospaced", 18));
+        restartButton.setFont(BUTTON_FONT);
         restartButton.setOnAction(e -> startGame(primaryStage, game.useColors, game.mixed));
 
         Button exitButton = new Button("Exit Game");
-        exitButton.setFont(Font.font("Monospaced", 18));
+        exitButton.setFont(BUTTON_FONT);
         exitButton.setOnAction(e -> primaryStage.close());
 
         Button backToDefaultSizeButton = new Button("Default Size");
-        backToDefaultSizeButton.setFont(Font.font("Monospaced", 18));
+        backToDefaultSizeButton.setFont(BUTTON_FONT);
         backToDefaultSizeButton.setOnAction(e -> {
             primaryStage.setWidth(600);
             primaryStage.setHeight(600);
         });
 
         Button backToSelectModeButton = new Button("Back to Select Mode");
-        backToSelectModeButton.setFont(Font.font("Monospaced", 18));
-        backToSelectModeButton.setOnAction(e -> primaryStage.setScene(createModeSelectionScene(primaryStage)));
+        backToSelectModeButton.setFont(BUTTON_FONT);
+        backToSelectModeButton.setOnAction(e -> showModeSelection(primaryStage));
 
         HBox buttonLayout = new HBox(10, restartButton, exitButton, backToDefaultSizeButton, backToSelectModeButton);
         buttonLayout.setAlignment(Pos.CENTER);
@@ -179,7 +273,16 @@ public class MastermindGUI extends Application {
         mainLayout.prefWidthProperty().bind(gameScene.widthProperty());
         mainLayout.prefHeightProperty().bind(gameScene.heightProperty());
 
-        primaryStage.setScene(gameScene);
+        screen.scene = gameScene;
+        screen.layout = mainLayout;
+        screen.colorButtons = colorButtonsLayout;
+        screen.feedbackLabel = feedbackLabel;
+        screen.currentGuessLabel = currentGuessLabel;
+        screen.attemptsLabel = attemptsLabel;
+        screen.guessInput = guessInput;
+        screen.submitButton = submitButton;
+        screen.undoButton = undoButton;
+        return screen;
     }
 
     private HBox createColorButtons() {
@@ -205,7 +308,7 @@ public class MastermindGUI extends Application {
     }
 
     private void addColorToGuess(String color) {
-        if (currentGuess.size() < game.secretCode.getCode().length) {
+        if (!scoring && currentGuess.size() < game.secretCode.getCode().length) {
             currentGuess.add(color.substring(0, 1));
             updateCurrentGuessLabel();
         }
@@ -216,48 +319,81 @@ public class MastermindGUI extends Application {
     }
 
     private void undoLastGuess() {
-        if (!currentGuess.isEmpty()) {
+        if (!scoring && !currentGuess.isEmpty()) {
             currentGuess.remove(currentGuess.size() - 1);
             updateCurrentGuessLabel();
         }
     }
 
     private void handleGuess(Stage primaryStage) {
+        if (scoring) {
+            return;
+        }
         if (currentGuess.size() == game.secretCode.getCode().length) {
-            int[] feedback = game.checkGuess(game.secretCode.getCode(), currentGuess.toArray(new String[0]));
-            feedbackLabel.setText("Correct: " + feedback[0] + ", Close: " + feedback[1]);
-            attempt++;
-            attemptsLabel.setText("Attempts Left: " + (game.maxAttempts - attempt));
-
-            if (feedback[0] == game.secretCode.getCode().length) {
-                feedbackLabel.setText("Congratulations! You've cracked the code!");
-                showSecretCode(primaryStage);
-                return;
-            }
-
-            if (attempt >= game.maxAttempts) {
-                feedbackLabel.setText("Game Over! The secret code was: " + String.join(" ", game.secretCode.getCode()));
-                showGameOverScreen(primaryStage);
-                return;
-            }
-
-            currentGuess.clear();
-            updateCurrentGuessLabel();
+            String[] guess = currentGuess.toArray(new String[0]);
+            MastermindGame scoredGame = game;
+            setScoring(true);
+            controller.submitGuess(scoredGame, guess, result -> {
+                if (scoredGame == game) {
+                    setScoring(false);
+                    showFeedback(primaryStage, result);
+                }
+            }, failure -> {
+                if (scoredGame == game) {
+                    setScoring(false);
+                    feedbackLabel.setText("Could not score that guess: " + failure.getMessage());
+                }
+            });
         } else {
             feedbackLabel.setText("Complete your guess!");
         }
     }
 
+    // Input is locked while a guess is scored, so nothing typed or clicked meanwhile is silently lost.
+    private void setScoring(boolean scoring) {
+        this.scoring = scoring;
+        screen.submitButton.setDisable(scoring);
+        screen.undoButton.setDisable(scoring);
+        screen.guessInput.setDisable(scoring);
+        if (screen.colorButtons != null) {
+            screen.colorButtons.setDisable(scoring);
+        }
+    }
+
+    private void showFeedback(Stage primaryStage, GameController.GuessResult result) {
+        int[] feedback = result.feedback();
+        feedbackLabel.setText("Correct: " + feedback[0] + ", Close: " + feedback[1] + " (" + result.remaining() + " codes remain)");
+        attempt++;
+        attemptsLabel.setText("Attempts Left: " + (game.maxAttempts - attempt));
+
+        if (feedback[0] == game.secretCode.getCode().length) {
+            game.recordOutcome(true, attempt);
+            feedbackLabel.setText("Congratulations! You've cracked the code!");
+            showSecretCode(primaryStage);
+            return;
+        }
+
+        if (attempt >= game.maxAttempts) {
+            game.recordOutcome(false, attempt);
+            feedbackLabel.setText("Game Over! The secret code was: " + String.join(" ", game.secretCode.getCode()));
+            showGameOverScreen(primaryStage);
+            return;
+        }
+
+        currentGuess.clear();
+        updateCurrentGuessLabel();
+    }
+
     private void handleTextGuess(TextField guessInput, Stage primaryStage) {
         String input = guessInput.getText().trim();
-        if (!input.isEmpty()) {
+        if (!scoring && !input.isEmpty()) {
 
             if (input.length() == 4) {
                 try {
 
+                    // Only the space's own symbols: other scripts' digits have numeric values too but cannot be scored.
                     for (char c : input.toCharArray()) {
-                        int number = Character.getNumericValue(c);
-                        if (number < 1 || number > 6) {
+                        if (game.space.symbols().indexOf(c) < 0) {
                             feedbackLabel.setText("Please enter numbers between 1 and 6 only.");
                             return;
                         }
@@ -279,7 +415,10 @@ public class MastermindGUI extends Application {
         }
     }
 
-    private void handleMixedGuess(TextField guessInput) {
+    private void handleMixedGuess(TextField guessInput, Stage primaryStage) {
+        if (scoring) {
+            return;
+        }
         String input = guessInput.getText().trim();
         if (!input.isEmpty()) {
             for (char c : input.toCharArray()) {
@@ -298,64 +437,53 @@ public class MastermindGUI extends Application {
         }
 
         if (currentGuess.size() == game.secretCode.getCode().length) {
-            handleGuess(null);
+            handleGuess(primaryStage);
         } else {
             feedbackLabel.setText("Complete your guess!");
         }
     }
 
     private void showGameOverScreen(Stage primaryStage) {
-        VBox gameOverLayout = new VBox(20);
-        gameOverLayout.setAlignment(Pos.CENTER);
-        gameOverLayout.setStyle("-fx-background-color: linear-gradient(to bottom, #1e3c72, #2a5298); -fx-padding: 20;");
-
-        Label gameOverLabel = new Label("Game Over! The secret code was: " + String.join(" ", game.secretCode.getCode()));
-        gameOverLabel.setFont(Font.font("Monospaced", 28));
-        gameOverLabel.setTextFill(Color.WHITE);
-
-        Button restartButton = new Button("Restart Game");
-        restartButton.setFont(Font.font("Monospaced", 18));
-        restartButton.setOnAction(e -> startGame(primaryStage, game.useColors, game.mixed));
-
-        Button exitButton = new Button("Exit Game");
-        exitButton.setFont(Font.font("Monospaced", 18));
-        exitButton.setOnAction(e -> primaryStage.close());
-
-        Button backToSelectModeButton = new Button("Back to Select Mode");
-        backToSelectModeButton.setFont(Font.font("Monospaced", 18));
-        backToSelectModeButton.setOnAction(e -> primaryStage.setScene(createModeSelectionScene(primaryStage)));
+        showResult(primaryStage, "Game Over! The secret code was: " + String.join(" ", game.secretCode.getCode()));
+    }
 
-        gameOverLayout.getChildren().addAll(gameOverLabel, restartButton, backToSelectModeButton, exitButton);
+    private void showSecretCode(Stage primaryStage) {
+        showResult(primaryStage, "Congratulations! You've cracked the code: " + String.join(" ", game.secretCode.getCode()));
+    }
 
-        Scene gameOverScene = new Scene(gameOverLayout, 600, 600);
-        primaryStage.setScene(gameOverScene);
+    private void showResult(Stage primaryStage, String message) {
+        if (resultScene == null) {
+            resultScene = createResultScene(primaryStage);
+        }
+        resultLabel.setText(message + "\n" + stats.get(player, game.mode()));
+        primaryStage.setScene(resultScene);
     }
 
-    private void showSecretCode(Stage primaryStage) {
-        VBox codeLayout = new VBox(20);
-        codeLayout.setAlignment(Pos.CENTER);
-        codeLayout.setStyle("-fx-background-color: linear-gradient(to bottom, #1e3c72, #2a5298); -fx-padding: 20;");
+    private Scene createResultScene(Stage primaryStage) {
+        VBox resultLayout = new VBox(20);
+        resultLayout.setAlignment(Pos.CENTER);
+        resultLayout.setStyle("-fx-background-color: linear-gradient(to bottom, #1e3c72, #2a5298); -fx-padding: 20;");
 
-        Label codeLabel = new Label("Congratulations! You've cracked the code: " + String.join(" ", game.secretCode.getCode()));
-        codeLabel.setFont(Font.font("Monospaced", 28));
-        codeLabel.setTextFill(Color.WHITE);
+        resultLabel = new Label();
+        resultLabel.setFont(RESULT_FONT);
+        resultLabel.setTextFill(Color.WHITE);
+        resultLabel.setWrapText(true);
 
         Button restartButton = new Button("Restart Game");
-        restartButton.setFont(Font.font("Monospaced", 18));
+        restartButton.setFont(BUTTON_FONT);
         restartButton.setOnAction(e -> startGame(primaryStage, game.useColors, game.mixed));
 
         Button exitButton = new Button("Exit Game");
-        exitButton.setFont(Font.font("Monospaced", 18));
+        exitButton.setFont(BUTTON_FONT);
         exitButton.setOnAction(e -> primaryStage.close());
 
         Button backToSelectModeButton = new Button("Back to Select Mode");
-        backToSelectModeButton.setFont(Font.font("Monospaced", 18));
-        backToSelectModeButton.setOnAction(e -> primaryStage.setScene(createModeSelectionScene(primaryStage)));
+        backToSelectModeButton.setFont(BUTTON_FONT);
+        backToSelectModeButton.setOnAction(e -> showModeSelection(primaryStage));
 
-        codeLayout.getChildren().addAll(codeLabel, restartButton, backToSelectModeButton, exitButton);
+        resultLayout.getChildren().addAll(resultLabel, restartButton, backToSelectModeButton, exitButton);
 
-        Scene codeScene = new Scene(codeLayout, 600, 600);
-        primaryStage.setScene(codeScene);
+        return new Scene(resultLayout, 600, 600);
     }
 
     public static void main(String[] args) {
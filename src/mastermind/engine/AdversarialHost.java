@@ -0,0 +1,226 @@
+package mastermind.engine;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Host for the adversarial variant: no secret is fixed up front. Every code consistent with the feedback so far stays
+ * live, and each guess is answered with the feedback class that keeps the most of them alive. Live codes are held as
+ * packed codes and histograms in chunks of up to {@value #CHUNK}, partitioned in parallel and compacted in place.
+ * Before the first guess the whole space is live and is enumerated by ordinal rather than materialized; only the
+ * feedback of each code is kept, so just the class that survives the first guess is ever stored.
+ * <p>
+ * Scoring is scalar on purpose: a host scores once per guess, so a game never runs long enough for the vectorized
+ * {@link BatchScorer} path to be compiled, and interpreted vector code is far slower than the scalar loop.
+ */
+public final class AdversarialHost {
+    // The first guess keeps a short per code and then stores the largest class, which can be a large share of the
+    // space; beyond this a single answer would take seconds and hundreds of megabytes.
+    public static final int MAX_SPACE = 1 << 22;
+
+    private static final int CHUNK = 1 << 12;
+
+    private record Chunk(long[] codes, long[] histograms, short[] feedback) {
+        Chunk(int capacity) {
+            this(new long[capacity], new long[capacity], new short[capacity]);
+        }
+    }
+
+    private final CodeSpace space;
+    private final int length;
+    private final int slots;
+    private Chunk[] chunks;
+    private int[] sizes;
+    private short[] opening;
+    private int remaining;
+
+    public AdversarialHost(CodeSpace space) {
+        if (space.size() > MAX_SPACE) {
+            throw new IllegalArgumentException("Code space " + space + " has " + space.size()
+                    + " codes; the adversary supports at most " + MAX_SPACE);
+        }
+        this.space = space;
+        this.length = space.length();
+        this.slots = Scorer.slots(length);
+        this.remaining = space.size();
+    }
+
+    // Ties go to the lower feedback, so the solved class is only chosen once it is the only one left.
+    public int respond(long guess) {
+        long guessHistogram = PackedCode.histogram(guess, length);
+        boolean first = chunks == null;
+        int count = first ? (space.size() + CHUNK - 1) / CHUNK : chunks.length;
+        if (first) {
+            opening = new short[space.size()];
+        }
+        int[] classes;
+        if (count == 1) {
+            classes = first ? partitionSpace(0, guess, guessHistogram) : partition(0, guess, guessHistogram);
+        } else {
+            classes = IntStream.range(0, count).parallel()
+                    .mapToObj(c -> first ? partitionSpace(c, guess, guessHistogram)
+                            : partition(c, guess, guessHistogram))
+                    .reduce(AdversarialHost::add)
+                    .orElseThrow();
+        }
+        int feedback = 0;
+        for (int f = 1; f < slots; f++) {
+            if (classes[f] > classes[feedback]) {
+                feedback = f;
+            }
+        }
+        if (first) {
+            keepSpace(count, feedback);
+        } else {
+            keep(count, feedback);
+        }
+        remaining = classes[feedback];
+        return feedback;
+    }
+
+    // Walks the first peg innermost, so the rest of the code and its histogram change once per symbolCount codes.
+    private int[] partitionSpace(int c, long guess, long guessHistogram) {
+        int[] classes = new int[slots];
+        int to = Math.min(space.size(), (c + 1) * CHUNK);
+        int symbols = space.symbolCount();
+        long code = space.code(c * CHUNK);
+        int peg = PackedCode.peg(code, 0);
+        long rest = PackedCode.withPeg(code, 0, 0);
+        long restHistogram = PackedCode.histogram(rest, length) - 1;
+        for (int ordinal = c * CHUNK; ordinal < to; ordinal++) {
+            int feedback = Scorer.score(rest | peg, restHistogram + (1L << (peg * PackedCode.BITS_PER_PEG)),
+                    guess, guessHistogram, length);
+            opening[ordinal] = (short) feedback;
+            classes[feedback]++;
+            if (++peg == symbols) {
+                peg = 0;
+                rest = space.successor(rest | (symbols - 1));
+                restHistogram = PackedCode.histogram(rest, length) - 1;
+            }
+        }
+        return classes;
+    }
+
+    private int[] partition(int c, long guess, long guessHistogram) {
+        int[] classes = new int[slots];
+        Chunk chunk = chunks[c];
+        for (int i = 0; i < sizes[c]; i++) {
+            int feedback = Scorer.score(chunk.codes[i], chunk.histograms[i], guess, guessHistogram, length);
+            chunk.feedback[i] = (short) feedback;
+            classes[feedback]++;
+        }
+        return classes;
+    }
+
+    private void keepSpace(int count, int feedback) {
+        Chunk[] kept = new Chunk[count];
+        int[] keptSizes = new int[count];
+        forEachChunk(count, c -> {
+            int from = c * CHUNK;
+            int to = Math.min(space.size(), from + CHUNK);
+            int n = 0;
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                n += opening[ordinal] == feedback ? 1 : 0;
+            }
+            Chunk chunk = new Chunk(n);
+            long code = space.code(from);
+            n = 0;
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                if (opening[ordinal] == feedback) {
+                    chunk.codes[n] = code;
+                    chunk.histograms[n] = PackedCode.histogram(code, length);
+                    n++;
+                }
+                code = space.successor(code);
+            }
+            kept[c] = chunk;
+            keptSizes[c] = n;
+        });
+        chunks = kept;
+        sizes = keptSizes;
+        opening = null;
+        repack();
+    }
+
+    private void keep(int count, int feedback) {
+        forEachChunk(count, c -> {
+            Chunk chunk = chunks[c];
+            int n = 0;
+            for (int i = 0; i < sizes[c]; i++) {
+                if (chunk.feedback[i] == feedback) {
+                    chunk.codes[n] = chunk.codes[i];
+                    chunk.histograms[n] = chunk.histograms[i];
+                    n++;
+                }
+            }
+            sizes[c] = n;
+        });
+        repack();
+    }
+
+    // A single chunk is cheaper to handle inline than to hand to the common pool.
+    private static void forEachChunk(int count, IntConsumer action) {
+        if (count == 1) {
+            action.accept(0);
+        } else {
+            IntStream.range(0, count).parallel().forEach(action);
+        }
+    }
+
+    // Refills chunks once they average under half full, so later guesses stay on few, dense chunks.
+    private void repack() {
+        int live = 0;
+        for (int size : sizes) {
+            live += size;
+        }
+        if ((long) live * 2 >= (long) chunks.length * CHUNK) {
+            return;
+        }
+        int count = (live + CHUNK - 1) / CHUNK;
+        Chunk[] packed = new Chunk[count];
+        for (int p = 0; p < count; p++) {
+            packed[p] = new Chunk(Math.min(CHUNK, live - p * CHUNK));
+        }
+        int[] packedSizes = new int[count];
+        int target = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            for (int i = 0; i < sizes[c]; i++) {
+                if (packedSizes[target] == CHUNK) {
+                    target++;
+                }
+                int n = packedSizes[target]++;
+                packed[target].codes[n] = chunks[c].codes[i];
+                packed[target].histograms[n] = chunks[c].histograms[i];
+            }
+        }
+        chunks = packed;
+        sizes = packedSizes;
+    }
+
+    private static int[] add(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    public int remaining() {
+        return remaining;
+    }
+
+    // Some code still consistent with every answer given, revealed as the secret when the game ends.
+    public long representative() {
+        if (chunks == null) {
+            return space.code(0);
+        }
+        int c = 0;
+        while (sizes[c] == 0) {
+            c++;
+        }
+        return chunks[c].codes[0];
+    }
+
+    public CodeSpace space() {
+        return space;
+    }
+}
@@ -0,0 +1,27 @@
+package mastermind.engine;
+
+public final class BatchScorer {
+    // The incubator module is optional at runtime; without it every batch takes the scalar loop.
+    private static final boolean VECTORIZED = Boolean.parseBoolean(System.getProperty("mastermind.vector", "true"))
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && VectorScorer.supported();
+
+    private BatchScorer() {
+    }
+
+    public static boolean vectorized() {
+        return VECTORIZED;
+    }
+
+    public static void score(long guess, int length, long[] secrets, long[] secretHistograms, int count,
+                             int[] feedback) {
+        if (count > secrets.length || count > secretHistograms.length || count > feedback.length) {
+            throw new IllegalArgumentException("Batch of " + count + " does not fit the arrays given");
+        }
+        long guessHistogram = PackedCode.histogram(guess, length);
+        int done = VECTORIZED ? VectorScorer.score(guess, guessHistogram, length, secrets, secretHistograms, count, feedback) : 0;
+        for (int i = done; i < count; i++) {
+            feedback[i] = Scorer.score(secrets[i], secretHistograms[i], guess, guessHistogram, length);
+        }
+    }
+}
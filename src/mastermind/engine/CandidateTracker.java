@@ -0,0 +1,93 @@
+package mastermind.engine;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public final class CandidateTracker {
+    private static final int PARALLEL_WORDS = 1 << 10;
+
+    private final CodeSpace space;
+    private final long[] words;
+    private int remaining;
+
+    public CandidateTracker(CodeSpace space) {
+        this.space = space;
+        this.words = new long[(space.size() + 63) >>> 6];
+        reset();
+    }
+
+    public void reset() {
+        Arrays.fill(words, -1L);
+        int tail = space.size() & 63;
+        if (tail != 0) {
+            words[words.length - 1] = (1L << tail) - 1;
+        }
+        remaining = space.size();
+    }
+
+    public int narrow(long guess, int feedback) {
+        long guessHistogram = PackedCode.histogram(guess, space.length());
+        if (words.length < PARALLEL_WORDS) {
+            int count = 0;
+            for (int w = 0; w < words.length; w++) {
+                count += narrowWord(w, guess, guessHistogram, feedback);
+            }
+            remaining = count;
+        } else {
+            remaining = IntStream.range(0, words.length).parallel()
+                    .map(w -> narrowWord(w, guess, guessHistogram, feedback))
+                    .sum();
+        }
+        return remaining;
+    }
+
+    private int narrowWord(int w, long guess, long guessHistogram, int feedback) {
+        long word = words[w];
+        if (word == 0) {
+            return 0;
+        }
+        long keep = 0;
+        int length = space.length();
+        int at = 0;
+        long code = space.code(w << 6);
+        while (word != 0) {
+            int bit = Long.numberOfTrailingZeros(word);
+            for (; at < bit; at++) {
+                code = space.successor(code);
+            }
+            if (Scorer.score(code, PackedCode.histogram(code, length), guess, guessHistogram, length) == feedback) {
+                keep |= 1L << bit;
+            }
+            word &= word - 1;
+        }
+        words[w] = keep;
+        return Long.bitCount(keep);
+    }
+
+    public int remaining() {
+        return remaining;
+    }
+
+    public boolean contains(int ordinal) {
+        return (words[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    public int nextCandidate(int fromOrdinal) {
+        int w = fromOrdinal >>> 6;
+        if (w >= words.length) {
+            return -1;
+        }
+        long word = words[w] & (-1L << fromOrdinal);
+        while (word == 0) {
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+        return (w << 6) | Long.numberOfTrailingZeros(word);
+    }
+
+    public CodeSpace space() {
+        return space;
+    }
+}
@@ -0,0 +1,86 @@
+package mastermind.engine;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+public final class CodeGenerator {
+    private static final int CHUNK = 1 << 12;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final CodeSpace space;
+    private final long seed;
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> perThread;
+
+    public CodeGenerator(CodeSpace space) {
+        this(space, new SplittableRandom().nextLong());
+    }
+
+    public CodeGenerator(CodeSpace space, long seed) {
+        this.space = space;
+        this.seed = seed;
+        this.root = new SplittableRandom(seed);
+        this.perThread = ThreadLocal.withInitial(this::split);
+    }
+
+    public static long generate(CodeSpace space, RandomGenerator random) {
+        int symbols = space.symbolCount();
+        long code = 0;
+        for (int i = 0; i < space.length(); i++) {
+            code = PackedCode.withPeg(code, i, random.nextInt(symbols));
+        }
+        return code;
+    }
+
+    public CodeSpace space() {
+        return space;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public SplittableRandom split() {
+        synchronized (root) {
+            return root.split();
+        }
+    }
+
+    public long next() {
+        return generate(space, perThread.get());
+    }
+
+    public long next(RandomGenerator random) {
+        return generate(space, random);
+    }
+
+    public long forGame(long gameId) {
+        return generate(space, new SplittableRandom(mix(seed, gameId)));
+    }
+
+    // Chunks are seeded by index, so the output depends only on the seed, not on how the work was split.
+    public void fill(long[] codes) {
+        int chunks = (codes.length + CHUNK - 1) / CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            SplittableRandom random = new SplittableRandom(mix(seed, ~(long) chunk));
+            int end = Math.min(codes.length, (chunk + 1) * CHUNK);
+            for (int i = chunk * CHUNK; i < end; i++) {
+                codes[i] = generate(space, random);
+            }
+        });
+    }
+
+    public long[] generate(int count) {
+        long[] codes = new long[count];
+        fill(codes);
+        return codes;
+    }
+
+    private static long mix(long seed, long id) {
+        long z = seed + id * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
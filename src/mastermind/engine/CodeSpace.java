@@ -0,0 +1,150 @@
+package mastermind.engine;
+
+import java.util.Objects;
+
+public final class CodeSpace {
+    private final int length;
+    private final String symbols;
+    private final int size;
+    private volatile long[] codes;
+    private volatile long[] histograms;
+    private volatile GuessParser parser;
+
+    public CodeSpace(int length, String symbols) {
+        PackedCode.checkLength(length);
+        PackedCode.checkSymbols(symbols.length());
+        // Guesses and files carry symbols as single ASCII bytes, so each must be one and mean only one peg.
+        for (int i = 0; i < symbols.length(); i++) {
+            char symbol = symbols.charAt(i);
+            if (symbol <= ' ' || symbol > '~') {
+                throw new IllegalArgumentException("Symbols must be printable ASCII characters, not '" + symbol + "'");
+            }
+            if (symbols.indexOf(symbol) != i) {
+                throw new IllegalArgumentException("Symbol '" + symbol + "' appears twice in " + symbols);
+            }
+        }
+        long size = 1;
+        for (int i = 0; i < length; i++) {
+            size *= symbols.length();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Code space too large: " + symbols.length() + "^" + length);
+            }
+        }
+        this.length = length;
+        this.symbols = symbols;
+        this.size = (int) size;
+    }
+
+    public static CodeSpace of(int length, boolean useColors, boolean mixed) {
+        return new CodeSpace(length, PackedCode.symbols(useColors, mixed));
+    }
+
+    public static CodeSpace of(int length, int symbolCount) {
+        PackedCode.checkSymbols(symbolCount);
+        return new CodeSpace(length, PackedCode.GENERIC_SYMBOLS.substring(0, symbolCount));
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public String symbols() {
+        return symbols;
+    }
+
+    public int symbolCount() {
+        return symbols.length();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long code(int ordinal) {
+        int base = symbols.length();
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            code = PackedCode.withPeg(code, i, ordinal % base);
+            ordinal /= base;
+        }
+        return code;
+    }
+
+    public int ordinal(long code) {
+        int base = symbols.length();
+        int ordinal = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            ordinal = ordinal * base + PackedCode.peg(code, i);
+        }
+        return ordinal;
+    }
+
+    public long successor(long code) {
+        int base = symbols.length();
+        for (int i = 0; i < length; i++) {
+            int peg = PackedCode.peg(code, i);
+            if (peg + 1 < base) {
+                return PackedCode.withPeg(code, i, peg + 1);
+            }
+            code = PackedCode.withPeg(code, i, 0);
+        }
+        return code;
+    }
+
+    public long[] codes() {
+        long[] result = codes;
+        if (result == null) {
+            result = new long[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = code(i);
+            }
+            codes = result;
+        }
+        return result;
+    }
+
+    public long[] histograms() {
+        long[] result = histograms;
+        if (result == null) {
+            long[] all = codes();
+            result = new long[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = PackedCode.histogram(all[i], length);
+            }
+            histograms = result;
+        }
+        return result;
+    }
+
+    public GuessParser parser() {
+        GuessParser result = parser;
+        if (result == null) {
+            result = new GuessParser(this);
+            parser = result;
+        }
+        return result;
+    }
+
+    public int score(long secret, long guess) {
+        return Scorer.score(secret, guess, length);
+    }
+
+    public String format(long code) {
+        return PackedCode.toString(code, length, symbols);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CodeSpace other && length == other.length && symbols.equals(other.symbols);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(length, symbols);
+    }
+
+    @Override
+    public String toString() {
+        return length + "x" + symbols.length() + " [" + symbols + "]";
+    }
+}
@@ -0,0 +1,160 @@
+package mastermind.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+public final class FeedbackTable {
+    private static final int MAGIC = 0x4D4D4654;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int MAX_FEEDBACK = 0xFF;
+
+    private static final Map<CodeSpace, FeedbackTable> SHARED = new ConcurrentHashMap<>();
+
+    private final CodeSpace space;
+    private final int size;
+    private final ByteBuffer feedback;
+
+    private FeedbackTable(CodeSpace space, ByteBuffer feedback) {
+        this.space = space;
+        this.size = space.size();
+        this.feedback = feedback;
+    }
+
+    public static FeedbackTable get(CodeSpace space) {
+        return SHARED.computeIfAbsent(space, s -> loadOrBuild(s, defaultPath(s)));
+    }
+
+    public static boolean supports(CodeSpace space) {
+        return Scorer.solved(space.length()) <= MAX_FEEDBACK && (long) space.size() * space.size() <= Integer.MAX_VALUE;
+    }
+
+    public static Path defaultPath(CodeSpace space) {
+        String dir = System.getProperty("mastermind.tableDir",
+                Paths.get(System.getProperty("user.home"), ".mastermind", "tables").toString());
+        return Paths.get(dir, "feedback-" + space.length() + "x" + space.symbolCount() + ".tbl");
+    }
+
+    public static FeedbackTable loadOrBuild(CodeSpace space, Path path) {
+        if (Files.isRegularFile(path)) {
+            try {
+                FeedbackTable table = load(path);
+                if (table.space.length() == space.length() && table.space.symbolCount() == space.symbolCount()) {
+                    return new FeedbackTable(space, table.feedback);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Rebuilding feedback table " + path + ": " + e.getMessage());
+            }
+        }
+        FeedbackTable table = build(space);
+        try {
+            table.save(path);
+        } catch (IOException e) {
+            System.err.println("Could not persist feedback table " + path + ": " + e.getMessage());
+        }
+        return table;
+    }
+
+    public static FeedbackTable build(CodeSpace space) {
+        if (!supports(space)) {
+            throw new IllegalArgumentException("Feedback table not supported for " + space);
+        }
+        int size = space.size();
+        int length = space.length();
+        long[] codes = space.codes();
+        long[] histograms = space.histograms();
+        byte[] table = new byte[size * size];
+        IntStream.range(0, size).parallel().forEach(guess -> {
+            long guessCode = codes[guess];
+            long guessHistogram = histograms[guess];
+            int row = guess * size;
+            for (int secret = 0; secret < size; secret++) {
+                table[row + secret] = (byte) Scorer.score(codes[secret], histograms[secret], guessCode, guessHistogram, length);
+            }
+        });
+        return new FeedbackTable(space, ByteBuffer.wrap(table));
+    }
+
+    public static FeedbackTable load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IllegalArgumentException("Not a feedback table");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalArgumentException("Not a feedback table");
+            }
+            // The header is untrusted: check it fully before sizing anything from it.
+            int length = header.getInt();
+            int symbolCount = header.getInt();
+            PackedCode.checkLength(length);
+            PackedCode.checkSymbols(symbolCount);
+            long bytes = tableBytes(length, symbolCount);
+            if (bytes < 0 || channel.size() != HEADER_SIZE + bytes) {
+                throw new IllegalArgumentException("Truncated feedback table");
+            }
+            byte[] symbols = new byte[symbolCount];
+            header.get(symbols);
+            CodeSpace space = new CodeSpace(length, new String(symbols, StandardCharsets.US_ASCII));
+            if (!supports(space)) {
+                throw new IllegalArgumentException("Feedback table not supported for " + space);
+            }
+            return new FeedbackTable(space, channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, bytes));
+        }
+    }
+
+    // Size of the table body, or -1 if the space is too large to have one.
+    private static long tableBytes(int length, int symbolCount) {
+        long size = 1;
+        for (int i = 0; i < length; i++) {
+            size *= symbolCount;
+            if (size * size > Integer.MAX_VALUE) {
+                return -1;
+            }
+        }
+        return size * size;
+    }
+
+    public void save(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(space.length()).putInt(space.symbolCount());
+            header.put(space.symbols().getBytes(StandardCharsets.US_ASCII));
+            header.clear();
+            writeFully(channel, header);
+            writeFully(channel, feedback.duplicate().clear());
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    public CodeSpace space() {
+        return space;
+    }
+
+    public int score(int secret, int guess) {
+        return feedback.get(guess * size + secret) & MAX_FEEDBACK;
+    }
+}
@@ -0,0 +1,86 @@
+package mastermind.engine;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public final class GuessParser {
+    public static final long INVALID_LENGTH = -1;
+    public static final long INVALID_SYMBOL = -2;
+
+    private static final byte NO_SYMBOL = -1;
+
+    private final int length;
+    private final byte[] lookup = new byte[256];
+
+    public GuessParser(CodeSpace space) {
+        this.length = space.length();
+        Arrays.fill(lookup, NO_SYMBOL);
+        String symbols = space.symbols();
+        for (int i = 0; i < symbols.length(); i++) {
+            char symbol = symbols.charAt(i);
+            lookup[Character.toUpperCase(symbol) & 0xFF] = (byte) i;
+            lookup[Character.toLowerCase(symbol) & 0xFF] = (byte) i;
+        }
+    }
+
+    public static boolean isValid(long result) {
+        return result >= 0;
+    }
+
+    public static String describe(long result) {
+        if (result == INVALID_LENGTH) {
+            return "Invalid guess length";
+        }
+        if (result == INVALID_SYMBOL) {
+            return "Invalid input character";
+        }
+        return "Valid guess";
+    }
+
+    public long parse(CharSequence text) {
+        if (text.length() != length) {
+            return INVALID_LENGTH;
+        }
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = text.charAt(i);
+            int symbol = ch < 256 ? lookup[ch] : NO_SYMBOL;
+            if (symbol < 0) {
+                return INVALID_SYMBOL;
+            }
+            code |= (long) symbol << (i * PackedCode.BITS_PER_PEG);
+        }
+        return code;
+    }
+
+    public long parse(byte[] bytes, int offset, int count) {
+        if (count != length) {
+            return INVALID_LENGTH;
+        }
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            int symbol = lookup[bytes[offset + i] & 0xFF];
+            if (symbol < 0) {
+                return INVALID_SYMBOL;
+            }
+            code |= (long) symbol << (i * PackedCode.BITS_PER_PEG);
+        }
+        return code;
+    }
+
+    public long parse(ByteBuffer buffer) {
+        if (buffer.remaining() != length) {
+            return INVALID_LENGTH;
+        }
+        int position = buffer.position();
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            int symbol = lookup[buffer.get(position + i) & 0xFF];
+            if (symbol < 0) {
+                return INVALID_SYMBOL;
+            }
+            code |= (long) symbol << (i * PackedCode.BITS_PER_PEG);
+        }
+        return code;
+    }
+}
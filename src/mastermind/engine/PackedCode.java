@@ -0,0 +1,89 @@
+package mastermind.engine;
+
+public final class PackedCode {
+    public static final int BITS_PER_PEG = 4;
+    public static final int MAX_LENGTH = 15;
+    public static final int MAX_SYMBOLS = 16;
+
+    public static final String NUMBER_SYMBOLS = "123456";
+    public static final String COLOR_SYMBOLS = "RGBYPO";
+    public static final String MIXED_SYMBOLS = NUMBER_SYMBOLS + COLOR_SYMBOLS;
+    public static final String GENERIC_SYMBOLS = "123456789ABCDEFG";
+
+    static final long PEG_MASK = 0xFL;
+    static final long LOW_BITS = 0x1111111111111111L;
+
+    private PackedCode() {
+    }
+
+    public static String symbols(boolean useColors, boolean mixed) {
+        if (mixed) {
+            return MIXED_SYMBOLS;
+        }
+        return useColors ? COLOR_SYMBOLS : NUMBER_SYMBOLS;
+    }
+
+    public static int peg(long code, int index) {
+        return (int) ((code >>> (index * BITS_PER_PEG)) & PEG_MASK);
+    }
+
+    public static long withPeg(long code, int index, int symbol) {
+        int shift = index * BITS_PER_PEG;
+        return (code & ~(PEG_MASK << shift)) | ((long) symbol << shift);
+    }
+
+    public static long encode(String[] pegs, String symbols) {
+        checkLength(pegs.length);
+        long code = 0;
+        for (int i = 0; i < pegs.length; i++) {
+            String peg = pegs[i];
+            int symbol = peg.length() == 1 ? symbols.indexOf(peg.charAt(0)) : -1;
+            if (symbol < 0) {
+                throw new IllegalArgumentException("Unknown symbol: " + peg);
+            }
+            code = withPeg(code, i, symbol);
+        }
+        return code;
+    }
+
+    public static String[] decode(long code, int length, String symbols) {
+        String[] pegs = new String[length];
+        for (int i = 0; i < length; i++) {
+            pegs[i] = String.valueOf(symbols.charAt(peg(code, i)));
+        }
+        return pegs;
+    }
+
+    public static String toString(long code, int length, String symbols) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = symbols.charAt(peg(code, i));
+        }
+        return new String(chars);
+    }
+
+    // One 4-bit counter per symbol; counts fit because length never exceeds 15.
+    public static long histogram(long code, int length) {
+        long histogram = 0;
+        for (int i = 0; i < length; i++) {
+            histogram += 1L << (peg(code, i) * BITS_PER_PEG);
+        }
+        return histogram;
+    }
+
+    static long lengthMask(int length) {
+        return (1L << (length * BITS_PER_PEG)) - 1;
+    }
+
+    static void checkLength(int length) {
+        if (length < 1 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Code length must be between 1 and " + MAX_LENGTH);
+        }
+    }
+
+    static void checkSymbols(int symbolCount) {
+        if (symbolCount < 1 || symbolCount > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Alphabet size must be between 1 and " + MAX_SYMBOLS);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package mastermind.engine;
+
+public final class Scorer {
+    static final int WHITE_BITS = 5;
+    private static final int WHITE_MASK = (1 << WHITE_BITS) - 1;
+    static final long NIBBLE_LANES = 0x0F0F0F0F0F0F0F0FL;
+    static final long LANE_HIGH_BITS = 0x8080808080808080L;
+    static final long LANE_ONES = 0x0101010101010101L;
+
+    private Scorer() {
+    }
+
+    public static int score(long secret, long guess, int length) {
+        return score(secret, PackedCode.histogram(secret, length), guess, PackedCode.histogram(guess, length), length);
+    }
+
+    public static int score(long secret, long secretHistogram, long guess, long guessHistogram, int length) {
+        int black = blacks(secret, guess, length);
+        return feedback(black, commonSymbols(secretHistogram, guessHistogram) - black);
+    }
+
+    public static int blacks(long secret, long guess, int length) {
+        long diff = secret ^ guess;
+        diff |= diff >>> 2;
+        diff |= diff >>> 1;
+        return length - Long.bitCount(diff & PackedCode.LOW_BITS & PackedCode.lengthMask(length));
+    }
+
+    // Sum over symbols of min(count in a, count in b), computed on even and odd nibbles as byte lanes.
+    public static int commonSymbols(long histogramA, long histogramB) {
+        return minSum(histogramA & NIBBLE_LANES, histogramB & NIBBLE_LANES)
+                + minSum((histogramA >>> 4) & NIBBLE_LANES, (histogramB >>> 4) & NIBBLE_LANES);
+    }
+
+    private static int minSum(long a, long b) {
+        long aNotLess = ((a | LANE_HIGH_BITS) - b) & LANE_HIGH_BITS;
+        long pickB = (aNotLess >>> 7) * 0xFF;
+        long min = (b & pickB) | (a & ~pickB);
+        return (int) ((min * LANE_ONES) >>> 56);
+    }
+
+    public static int feedback(int black, int white) {
+        return (black << WHITE_BITS) | white;
+    }
+
+    public static int black(int feedback) {
+        return feedback >>> WHITE_BITS;
+    }
+
+    public static int white(int feedback) {
+        return feedback & WHITE_MASK;
+    }
+
+    public static int solved(int length) {
+        return feedback(length, 0);
+    }
+
+    public static int slots(int length) {
+        return solved(length) + 1;
+    }
+
+    public static int[] toArray(int feedback) {
+        return new int[]{black(feedback), white(feedback)};
+    }
+}
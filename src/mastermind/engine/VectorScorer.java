@@ -0,0 +1,52 @@
+package mastermind.engine;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+// Lane-parallel form of Scorer.score: one packed secret and its histogram per long lane.
+final class VectorScorer {
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(Math.max(64, LONGS.vectorBitSize() / 2)));
+
+    private VectorScorer() {
+    }
+
+    static boolean supported() {
+        return LONGS.length() >= 2;
+    }
+
+    // Scores whole vectors only and returns how many secrets were scored; the caller finishes the tail.
+    static int score(long guess, long guessHistogram, int length, long[] secrets, long[] secretHistograms, int count,
+                     int[] feedback) {
+        long positions = PackedCode.LOW_BITS & PackedCode.lengthMask(length);
+        LongVector guessEven = LongVector.broadcast(LONGS, guessHistogram & Scorer.NIBBLE_LANES);
+        LongVector guessOdd = LongVector.broadcast(LONGS, (guessHistogram >>> 4) & Scorer.NIBBLE_LANES);
+        int bound = LONGS.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            LongVector diff = LongVector.fromArray(LONGS, secrets, i).lanewise(VectorOperators.XOR, guess);
+            diff = diff.or(diff.lanewise(VectorOperators.LSHR, 2));
+            diff = diff.or(diff.lanewise(VectorOperators.LSHR, 1));
+            LongVector blacks = diff.and(positions).lanewise(VectorOperators.BIT_COUNT).neg().add(length);
+
+            LongVector histograms = LongVector.fromArray(LONGS, secretHistograms, i);
+            LongVector common = minSum(histograms.and(Scorer.NIBBLE_LANES), guessEven)
+                    .add(minSum(histograms.lanewise(VectorOperators.LSHR, 4).and(Scorer.NIBBLE_LANES), guessOdd));
+
+            LongVector result = blacks.lanewise(VectorOperators.LSHL, Scorer.WHITE_BITS).or(common.sub(blacks));
+            ((IntVector) result.convertShape(VectorOperators.L2I, INTS, 0)).intoArray(feedback, i);
+        }
+        return i;
+    }
+
+    private static LongVector minSum(LongVector a, LongVector b) {
+        LongVector aNotLess = a.or(Scorer.LANE_HIGH_BITS).sub(b).and(Scorer.LANE_HIGH_BITS);
+        LongVector pickB = aNotLess.lanewise(VectorOperators.LSHR, 7).mul(0xFF);
+        LongVector min = b.and(pickB).or(a.and(pickB.not()));
+        return min.mul(Scorer.LANE_ONES).lanewise(VectorOperators.LSHR, 56);
+    }
+}
@@ -0,0 +1,258 @@
+package mastermind.journal;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.PackedCode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only binary journal of game events in fixed-size records. Appends go into one of two direct buffers under a
+ * short lock; a full buffer is handed to the sync thread, which writes it while appends continue into the other, so
+ * players only wait on disk if a whole buffer is still being written. A failed write disables the journal with a
+ * logged error rather than failing the game that happened to append.
+ */
+public final class GameJournal implements AutoCloseable {
+    static final int MAGIC = 0x4D4D4A4C;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 32;
+
+    static final byte CREATED = 1;
+    static final byte GUESS = 2;
+    static final byte OUTCOME = 3;
+
+    static final byte NUMBERS = 0;
+    static final byte COLORS = 1;
+    static final byte MIXED = 2;
+    static final byte GENERIC = 3;
+
+    // Secret of a game whose host fixes it only when the game ends; the outcome record then carries it.
+    public static final long UNDETERMINED = -1L;
+
+    static final int WON = 1;
+    static final int RESOLVED = 2;
+
+    private static final int BUFFER_RECORDS = 2048;
+
+    private final FileChannel channel;
+    private final AtomicLong nextGameId = new AtomicLong(System.currentTimeMillis() << 16);
+    private final ScheduledExecutorService syncer;
+    // Held while writing to the channel, and taken before the journal's own lock.
+    private final Object writeLock = new Object();
+    private ByteBuffer filling = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE);
+    private ByteBuffer full = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE);
+    private boolean pending;
+    private boolean dirty;
+    private boolean disabled;
+
+    public GameJournal(Path path, long syncInterval, TimeUnit unit) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } else {
+            JournalReader.checkHeader(channel);
+        }
+        long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+        channel.position(HEADER_SIZE + records * RECORD_SIZE);
+        this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(this::syncQuietly, syncInterval, syncInterval, unit);
+    }
+
+    public static GameJournal open(Path path) throws IOException {
+        return new GameJournal(path, 200, TimeUnit.MILLISECONDS);
+    }
+
+    public long newGameId() {
+        return nextGameId.getAndIncrement();
+    }
+
+    public void gameCreated(long gameId, CodeSpace space, long secret, int maxAttempts) {
+        append(CREATED, gameId, mode(space.symbols()), space.length(), space.symbolCount(), maxAttempts, secret);
+    }
+
+    public void guess(long gameId, long guess, int feedback) {
+        append(GUESS, gameId, 0, 0, 0, feedback, guess);
+    }
+
+    public void outcome(long gameId, boolean won, int attempts) {
+        outcome(gameId, won, attempts, UNDETERMINED);
+    }
+
+    public void outcome(long gameId, boolean won, int attempts, long resolvedSecret) {
+        int flags = (won ? WON : 0) | (resolvedSecret != UNDETERMINED ? RESOLVED : 0);
+        append(OUTCOME, gameId, flags, 0, 0, attempts, resolvedSecret != UNDETERMINED ? resolvedSecret : 0);
+    }
+
+    private synchronized void append(byte type, long gameId, int flags, int length, int symbols, int value, long code) {
+        if (disabled) {
+            return;
+        }
+        if (!filling.hasRemaining()) {
+            awaitWritten();
+            if (disabled) {
+                return;
+            }
+            handOver();
+            try {
+                syncer.execute(this::writePending);
+            } catch (RejectedExecutionException e) {
+                // Closing: the final sync writes it.
+            }
+        }
+        filling.putLong(gameId)
+                .putLong(System.currentTimeMillis())
+                .put(type)
+                .put((byte) flags)
+                .put((byte) length)
+                .put((byte) symbols)
+                .putInt(value)
+                .putLong(code);
+        dirty = true;
+    }
+
+    // Caller holds the lock and has checked that no buffer is pending.
+    private void handOver() {
+        ByteBuffer next = full;
+        full = filling.flip();
+        filling = next;
+        pending = true;
+    }
+
+    // Caller holds the lock.
+    private void awaitWritten() {
+        boolean interrupted = false;
+        while (pending) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writePending() {
+        synchronized (writeLock) {
+            ByteBuffer buffer;
+            synchronized (this) {
+                if (!pending) {
+                    return;
+                }
+                buffer = full;
+            }
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                disable(e);
+            }
+            synchronized (this) {
+                buffer.clear();
+                pending = false;
+                notifyAll();
+            }
+        }
+    }
+
+    private synchronized void disable(IOException e) {
+        if (!disabled) {
+            disabled = true;
+            filling.clear();
+            System.err.println("Journal disabled, could not write records: " + e.getMessage());
+        }
+    }
+
+    public void sync() throws IOException {
+        synchronized (writeLock) {
+            boolean handed = false;
+            while (!handed) {
+                writePending();
+                synchronized (this) {
+                    if (disabled || !dirty) {
+                        return;
+                    }
+                    // An append may have handed over another full buffer since the write above.
+                    if (!pending) {
+                        handOver();
+                        dirty = false;
+                        handed = true;
+                    }
+                }
+            }
+            writePending();
+        }
+        channel.force(false);
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Journal sync failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Interrupting a write would close the channel, so the sync thread is left to finish its current task.
+        syncer.shutdown();
+        try {
+            syncer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            sync();
+        } finally {
+            synchronized (this) {
+                disabled = true;
+                pending = false;
+                notifyAll();
+            }
+            channel.close();
+        }
+    }
+
+    static byte mode(String symbols) {
+        if (symbols.equals(PackedCode.NUMBER_SYMBOLS)) {
+            return NUMBERS;
+        }
+        if (symbols.equals(PackedCode.COLOR_SYMBOLS)) {
+            return COLORS;
+        }
+        return symbols.equals(PackedCode.MIXED_SYMBOLS) ? MIXED : GENERIC;
+    }
+
+    static CodeSpace space(byte mode, int length, int symbols) {
+        switch (mode) {
+            case NUMBERS:
+                return CodeSpace.of(length, false, false);
+            case COLORS:
+                return CodeSpace.of(length, true, false);
+            case MIXED:
+                return CodeSpace.of(length, true, true);
+            default:
+                return CodeSpace.of(length, symbols);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package mastermind.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class JournalReader {
+    private static final int READ_BUFFER = 1 << 20;
+
+    private JournalReader() {
+    }
+
+    static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(GameJournal.HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < GameJournal.HEADER_SIZE
+                || header.getInt() != GameJournal.MAGIC || header.getInt() != GameJournal.VERSION) {
+            throw new IOException("Not a game journal");
+        }
+    }
+
+    public static long replay(Path path, JournalVisitor visitor) throws IOException {
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            checkHeader(channel);
+            channel.position(GameJournal.HEADER_SIZE);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER - READ_BUFFER % GameJournal.RECORD_SIZE);
+            while (channel.read(buffer) >= 0 || buffer.position() > 0) {
+                buffer.flip();
+                if (buffer.remaining() < GameJournal.RECORD_SIZE) {
+                    break;
+                }
+                while (buffer.remaining() >= GameJournal.RECORD_SIZE) {
+                    long gameId = buffer.getLong();
+                    long time = buffer.getLong();
+                    byte type = buffer.get();
+                    byte flags = buffer.get();
+                    int length = buffer.get();
+                    int symbols = buffer.get();
+                    int value = buffer.getInt();
+                    long code = buffer.getLong();
+                    switch (type) {
+                        case GameJournal.CREATED:
+                            visitor.gameCreated(gameId, time, GameJournal.space(flags, length, symbols), code, value);
+                            break;
+                        case GameJournal.GUESS:
+                            visitor.guess(gameId, time, code, value);
+                            break;
+                        case GameJournal.OUTCOME:
+                            visitor.outcome(gameId, time, (flags & GameJournal.WON) != 0, value,
+                                    (flags & GameJournal.RESOLVED) != 0 ? code : GameJournal.UNDETERMINED);
+                            break;
+                        default:
+                            throw new IOException("Corrupt journal record at " + records);
+                    }
+                    records++;
+                }
+                buffer.compact();
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,105 @@
+package mastermind.journal;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.Scorer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public final class JournalReplay {
+    private static final int MAX_TRACKED_ATTEMPTS = 64;
+
+    private JournalReplay() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: JournalReplay <journal> [gameId]");
+            return;
+        }
+        Path path = Paths.get(args[0]);
+        long start = System.nanoTime();
+        long records;
+        if (args.length > 1) {
+            records = JournalReader.replay(path, new GamePrinter(Long.parseLong(args[1])));
+        } else {
+            Statistics statistics = new Statistics();
+            records = JournalReader.replay(path, statistics);
+            statistics.print();
+        }
+        System.out.printf("Scanned %d records in %.1f ms%n", records, (System.nanoTime() - start) / 1e6);
+    }
+
+    static final class Statistics implements JournalVisitor {
+        private final long[] attemptsHistogram = new long[MAX_TRACKED_ATTEMPTS + 1];
+        private long created;
+        private long guesses;
+        private long finished;
+        private long wins;
+
+        @Override
+        public void gameCreated(long gameId, long timeMillis, CodeSpace space, long secret, int maxAttempts) {
+            created++;
+        }
+
+        @Override
+        public void guess(long gameId, long timeMillis, long guess, int feedback) {
+            guesses++;
+        }
+
+        @Override
+        public void outcome(long gameId, long timeMillis, boolean won, int attempts, long resolvedSecret) {
+            finished++;
+            if (won) {
+                wins++;
+                attemptsHistogram[Math.min(attempts, MAX_TRACKED_ATTEMPTS)]++;
+            }
+        }
+
+        void print() {
+            System.out.printf("games=%d finished=%d wins=%d guesses=%d winRate=%.4f%n",
+                    created, finished, wins, guesses, finished == 0 ? 0 : (double) wins / finished);
+            for (int attempts = 1; attempts < attemptsHistogram.length; attempts++) {
+                if (attemptsHistogram[attempts] > 0) {
+                    System.out.printf("  won in %2d: %d%n", attempts, attemptsHistogram[attempts]);
+                }
+            }
+        }
+    }
+
+    static final class GamePrinter implements JournalVisitor {
+        private final long gameId;
+        private CodeSpace space;
+
+        GamePrinter(long gameId) {
+            this.gameId = gameId;
+        }
+
+        @Override
+        public void gameCreated(long gameId, long timeMillis, CodeSpace space, long secret, int maxAttempts) {
+            if (gameId == this.gameId) {
+                this.space = space;
+                System.out.println("Game " + gameId + " (" + space + ", " + maxAttempts + " attempts), secret "
+                        + (secret == GameJournal.UNDETERMINED ? "chosen during play" : space.format(secret)));
+            }
+        }
+
+        @Override
+        public void guess(long gameId, long timeMillis, long guess, int feedback) {
+            if (gameId == this.gameId && space != null) {
+                System.out.println("  " + space.format(guess) + " -> correct " + Scorer.black(feedback)
+                        + ", close " + Scorer.white(feedback));
+            }
+        }
+
+        @Override
+        public void outcome(long gameId, long timeMillis, boolean won, int attempts, long resolvedSecret) {
+            if (gameId == this.gameId) {
+                System.out.println((won ? "  Won" : "  Lost") + " after " + attempts + " attempts"
+                        + (resolvedSecret != GameJournal.UNDETERMINED && space != null
+                        ? ", secret " + space.format(resolvedSecret) : ""));
+            }
+        }
+    }
+}
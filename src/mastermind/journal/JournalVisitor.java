@@ -0,0 +1,12 @@
+package mastermind.journal;
+
+import mastermind.engine.CodeSpace;
+
+public interface JournalVisitor {
+    void gameCreated(long gameId, long timeMillis, CodeSpace space, long secret, int maxAttempts);
+
+    void guess(long gameId, long timeMillis, long guess, int feedback);
+
+    // resolvedSecret is UNDETERMINED unless the game was created without one.
+    void outcome(long gameId, long timeMillis, boolean won, int attempts, long resolvedSecret);
+}
@@ -0,0 +1,32 @@
+package mastermind.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Counter {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        if (Metrics.ENABLED) {
+            count.increment();
+        }
+    }
+
+    public void add(long delta) {
+        if (Metrics.ENABLED) {
+            count.add(delta);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long count() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,105 @@
+package mastermind.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public final class Metrics implements MetricsMXBean {
+    public static final boolean ENABLED = Boolean.getBoolean("mastermind.metrics");
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    public static final Counter GAMES_STARTED = counter("games.started");
+    public static final Counter GAMES_WON = counter("games.won");
+    public static final Counter GAMES_LOST = counter("games.lost");
+    public static final Counter GUESSES_SCORED = counter("guesses.scored");
+    public static final Counter GUESSES_REJECTED = counter("guesses.rejected");
+    public static final Counter SESSIONS_CREATED = counter("sessions.created");
+    public static final Counter SESSIONS_EVICTED = counter("sessions.evicted");
+
+    public static final LatencyHistogram SCORE_NANOS = histogram("score.nanos");
+    public static final LatencyHistogram PARSE_NANOS = histogram("parse.nanos");
+    public static final LatencyHistogram SESSION_GUESS_NANOS = histogram("session.guess.nanos");
+    public static final LatencyHistogram ATTEMPTS_USED = histogram("game.attempts");
+
+    static {
+        if (ENABLED) {
+            register();
+            long interval = Long.getLong("mastermind.metrics.interval", 0);
+            if (interval > 0) {
+                startReporter(interval, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    public static LatencyHistogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    public static long now() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    public static String snapshot() {
+        StringBuilder text = new StringBuilder();
+        for (Counter counter : new TreeMap<>(COUNTERS).values()) {
+            text.append(String.format("%-24s %d%n", counter.name(), counter.count()));
+        }
+        for (LatencyHistogram histogram : new TreeMap<>(HISTOGRAMS).values()) {
+            text.append(String.format("%-24s count=%d mean=%.1f p50=%d p99=%d p999=%d max=%d%n",
+                    histogram.name(), histogram.count(), histogram.mean(), histogram.percentile(50),
+                    histogram.percentile(99), histogram.percentile(99.9), histogram.max()));
+        }
+        return text.toString();
+    }
+
+    public static void startReporter(long period, TimeUnit unit) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> System.err.print(snapshot()), period, period, unit);
+    }
+
+    private static void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Metrics(), new ObjectName("mastermind:type=Metrics"));
+        } catch (JMException e) {
+            System.err.println("Could not register metrics MBean: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> counters.put(name, counter.count()));
+        return counters;
+    }
+
+    @Override
+    public Map<String, Long> getP99Latencies() {
+        Map<String, Long> latencies = new TreeMap<>();
+        HISTOGRAMS.forEach((name, histogram) -> latencies.put(name, histogram.percentile(99)));
+        return latencies;
+    }
+
+    @Override
+    public String getSnapshot() {
+        return snapshot();
+    }
+}
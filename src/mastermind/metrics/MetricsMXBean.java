@@ -0,0 +1,11 @@
+package mastermind.metrics;
+
+import java.util.Map;
+
+public interface MetricsMXBean {
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getP99Latencies();
+
+    String getSnapshot();
+}
@@ -0,0 +1,96 @@
+package mastermind.server;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.Scorer;
+
+public final class Session {
+    public static final int GAME_OVER = -1;
+
+    private static final int PLAYING = 0;
+    private static final int WON = 1;
+    private static final int LOST = 2;
+    private static final int ABANDONED = 3;
+
+    // Only the guess that ends the game reports won or lost; later guesses get GAME_OVER feedback.
+    public record Result(int feedback, int attempts, boolean won, boolean lost) {
+        public boolean finished() {
+            return won || lost;
+        }
+    }
+
+    private final long id;
+    private final CodeSpace space;
+    private final long secret;
+    private final short maxAttempts;
+    private short attempts;
+    private byte status;
+    private volatile long lastAccessNanos;
+
+    Session(long id, CodeSpace space, long secret, int maxAttempts, long now) {
+        this.id = id;
+        this.space = space;
+        this.secret = secret;
+        this.maxAttempts = (short) maxAttempts;
+        this.lastAccessNanos = now;
+    }
+
+    synchronized Result guess(long code, long now) {
+        lastAccessNanos = now;
+        if (status != PLAYING) {
+            return new Result(GAME_OVER, attempts, false, false);
+        }
+        attempts++;
+        int feedback = Scorer.score(secret, code, space.length());
+        if (feedback == Scorer.solved(space.length())) {
+            status = WON;
+        } else if (attempts >= maxAttempts) {
+            status = LOST;
+        }
+        return new Result(feedback, attempts, status == WON, status == LOST);
+    }
+
+    // Ends a game still in play; true only for the one caller that ended it.
+    synchronized boolean abandon() {
+        if (status != PLAYING) {
+            return false;
+        }
+        status = ABANDONED;
+        return true;
+    }
+
+    void touch(long now) {
+        lastAccessNanos = now;
+    }
+
+    boolean expired(long now, long ttlNanos) {
+        return now - lastAccessNanos > ttlNanos;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public CodeSpace space() {
+        return space;
+    }
+
+    public long secret() {
+        return secret;
+    }
+
+    public synchronized int attempts() {
+        return attempts;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    public synchronized boolean won() {
+        return status == WON;
+    }
+
+    public synchronized boolean lost() {
+        return status == LOST;
+    }
+}
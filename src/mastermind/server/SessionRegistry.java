@@ -0,0 +1,112 @@
+package mastermind.server;
+
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+import mastermind.metrics.Metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public final class SessionRegistry implements AutoCloseable {
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<CodeSpace, CodeGenerator> generators = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(System.currentTimeMillis() << 16);
+    private final long ttlNanos;
+    private final ScheduledExecutorService sweeper;
+    private volatile Consumer<Session> onAbandoned = session -> {
+    };
+
+    public SessionRegistry(long ttl, TimeUnit unit) {
+        this.ttlNanos = unit.toNanos(ttl);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, ttlNanos / 4);
+        sweeper.scheduleAtFixedRate(this::evictExpired, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    public Session create(CodeSpace space, int maxAttempts) {
+        long id = nextId.getAndIncrement();
+        long secret = generators.computeIfAbsent(space, CodeGenerator::new).next();
+        Session session = new Session(id, space, secret, maxAttempts, System.nanoTime());
+        sessions.put(id, session);
+        Metrics.SESSIONS_CREATED.increment();
+        Metrics.GAMES_STARTED.increment();
+        return session;
+    }
+
+    public Session get(long id) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (session.expired(now, ttlNanos)) {
+            if (sessions.remove(id, session)) {
+                Metrics.SESSIONS_EVICTED.increment();
+                abandon(session);
+            }
+            return null;
+        }
+        session.touch(now);
+        return session;
+    }
+
+    public Session.Result guess(Session session, long code) {
+        long start = System.nanoTime();
+        Session.Result result = session.guess(code, start);
+        Metrics.SESSION_GUESS_NANOS.recordSince(start);
+        Metrics.GUESSES_SCORED.increment();
+        return result;
+    }
+
+    // Called once for every game that is removed or evicted before it was won or lost.
+    public void onAbandoned(Consumer<Session> listener) {
+        this.onAbandoned = listener;
+    }
+
+    public boolean remove(long id) {
+        Session session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        abandon(session);
+        return true;
+    }
+
+    public int evictExpired() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Session session : sessions.values()) {
+            if (session.expired(now, ttlNanos) && sessions.remove(session.id(), session)) {
+                abandon(session);
+                evicted++;
+            }
+        }
+        Metrics.SESSIONS_EVICTED.add(evicted);
+        return evicted;
+    }
+
+    private void abandon(Session session) {
+        if (session.abandon()) {
+            onAbandoned.accept(session);
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        sessions.clear();
+    }
+}
@@ -0,0 +1,174 @@
+package mastermind.server;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.GuessParser;
+import mastermind.engine.Scorer;
+import mastermind.journal.GameJournal;
+import mastermind.metrics.Metrics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+public final class SessionServer implements AutoCloseable {
+    private static final int DEFAULT_LENGTH = 4;
+    private static final int DEFAULT_ATTEMPTS = 10;
+
+    private final SessionRegistry registry;
+    private final GameJournal journal;
+    private final ServerSocket serverSocket;
+
+    public SessionServer(int port, SessionRegistry registry) throws IOException {
+        this(port, registry, null);
+    }
+
+    public SessionServer(int port, SessionRegistry registry, GameJournal journal) throws IOException {
+        this.registry = registry;
+        this.journal = journal;
+        this.serverSocket = new ServerSocket(port);
+        if (journal != null) {
+            registry.onAbandoned(session -> journal.outcome(session.id(), false, session.attempts()));
+        }
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            Thread.ofVirtual().name("session-connection").start(() -> handle(socket));
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                String command = parts[0].toUpperCase();
+                if (command.equals("QUIT")) {
+                    out.println("BYE");
+                    return;
+                }
+                out.println(execute(command, parts));
+            }
+        } catch (IOException e) {
+            System.err.println("Connection closed: " + e.getMessage());
+        }
+    }
+
+    String execute(String command, String[] parts) {
+        try {
+            switch (command) {
+                case "NEW":
+                    return newGame(parts);
+                case "GUESS":
+                    return guess(parts);
+                case "END":
+                    return registry.remove(Long.parseLong(parts[1])) ? "OK" : "ERR unknown session";
+                default:
+                    return "ERR unknown command";
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return "ERR malformed command";
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    private String newGame(String[] parts) {
+        String mode = parts.length > 1 ? parts[1].toLowerCase() : "numbers";
+        int length = parts.length > 2 ? Integer.parseInt(parts[2]) : DEFAULT_LENGTH;
+        int attempts = parts.length > 3 ? Integer.parseInt(parts[3]) : DEFAULT_ATTEMPTS;
+        if (attempts < 1 || attempts > Short.MAX_VALUE) {
+            return "ERR invalid attempts";
+        }
+        CodeSpace space;
+        switch (mode) {
+            case "numbers":
+                space = CodeSpace.of(length, false, false);
+                break;
+            case "colors":
+                space = CodeSpace.of(length, true, false);
+                break;
+            case "mixed":
+                space = CodeSpace.of(length, true, true);
+                break;
+            default:
+                return "ERR unknown mode";
+        }
+        Session session = registry.create(space, attempts);
+        if (journal != null) {
+            journal.gameCreated(session.id(), space, session.secret(), attempts);
+        }
+        return "OK " + session.id() + " " + space.symbols();
+    }
+
+    private String guess(String[] parts) {
+        Session session = registry.get(Long.parseLong(parts[1]));
+        if (session == null) {
+            return "ERR unknown session";
+        }
+        CodeSpace space = session.space();
+        long parseStart = Metrics.now();
+        long code = space.parser().parse(parts[2]);
+        Metrics.PARSE_NANOS.recordSince(parseStart);
+        if (!GuessParser.isValid(code)) {
+            Metrics.GUESSES_REJECTED.increment();
+            return "ERR " + GuessParser.describe(code);
+        }
+        Session.Result result = registry.guess(session, code);
+        int feedback = result.feedback();
+        if (feedback == Session.GAME_OVER) {
+            return "ERR game over";
+        }
+        if (journal != null) {
+            journal.guess(session.id(), code, feedback);
+        }
+        if (result.finished()) {
+            registry.remove(session.id());
+            (result.won() ? Metrics.GAMES_WON : Metrics.GAMES_LOST).increment();
+            Metrics.ATTEMPTS_USED.record(result.attempts());
+            if (journal != null) {
+                journal.outcome(session.id(), result.won(), result.attempts());
+            }
+            return result.won() ? "WIN " + result.attempts() : "LOSE " + space.format(session.secret());
+        }
+        return "FEEDBACK " + Scorer.black(feedback) + " " + Scorer.white(feedback) + " "
+                + (session.maxAttempts() - result.attempts());
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4040;
+        long ttlSeconds = args.length > 1 ? Long.parseLong(args[1]) : 600;
+        try (SessionRegistry registry = new SessionRegistry(ttlSeconds, TimeUnit.SECONDS);
+             GameJournal journal = args.length > 2 ? GameJournal.open(Paths.get(args[2])) : null;
+             SessionServer server = new SessionServer(port, registry, journal)) {
+            System.out.println("Mastermind session server listening on port " + server.port());
+            server.serve();
+        }
+    }
+}
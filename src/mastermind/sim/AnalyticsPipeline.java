@@ -0,0 +1,203 @@
+package mastermind.sim;
+
+import mastermind.engine.BatchScorer;
+import mastermind.engine.CodeSpace;
+import mastermind.engine.Scorer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streaming aggregation of game events. Each producer appends one packed {@code long} per scored guess to its own
+ * {@link Recorder}, which hands batches of whole games to a bounded queue and blocks when the analysis falls behind.
+ * Each worker replays its batches, narrowing a compact array of live codes with {@link BatchScorer} to recover the
+ * candidate-set size after every move, and folds them into its own {@link GameAnalytics}; the workers' results are
+ * merged by {@link #finish}. Drained batches are recycled, so memory is fixed by the queue capacity however many games
+ * flow through.
+ */
+public final class AnalyticsPipeline {
+    private static final int BATCH_EVENTS = 1 << 12;
+    private static final Batch END = new Batch();
+
+    private static final class Batch {
+        final long[] events = new long[BATCH_EVENTS];
+        int size;
+    }
+
+    // The live codes of the game being replayed; the first move is scored straight from the whole space.
+    private static final class Candidates {
+        final CodeSpace space;
+        final long[] codes;
+        final long[] histograms;
+        final int[] feedback;
+        int size = -1;
+
+        Candidates(CodeSpace space) {
+            this.space = space;
+            this.codes = new long[space.size()];
+            this.histograms = new long[space.size()];
+            this.feedback = new int[space.size()];
+        }
+
+        int narrow(long guess, int result) {
+            boolean first = size < 0;
+            long[] from = first ? space.codes() : codes;
+            long[] fromHistograms = first ? space.histograms() : histograms;
+            int count = first ? space.size() : size;
+            BatchScorer.score(guess, space.length(), from, fromHistograms, count, feedback);
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                if (feedback[i] == result) {
+                    codes[n] = from[i];
+                    histograms[n] = fromHistograms[i];
+                    n++;
+                }
+            }
+            size = n;
+            return n;
+        }
+    }
+
+    private final CodeSpace space;
+    private final int maxAttempts;
+    private final BlockingQueue<Batch> full;
+    private final BlockingQueue<Batch> free;
+    private final List<Thread> workers = new ArrayList<>();
+    private final List<GameAnalytics> results = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public AnalyticsPipeline(CodeSpace space, int maxAttempts, int workerCount, int queueCapacity) {
+        if (BATCH_EVENTS < maxAttempts) {
+            throw new IllegalArgumentException("Games of " + maxAttempts + " moves do not fit an event batch");
+        }
+        this.space = space;
+        this.maxAttempts = maxAttempts;
+        this.full = new ArrayBlockingQueue<>(queueCapacity);
+        this.free = new ArrayBlockingQueue<>(queueCapacity + workerCount);
+        for (int w = 0; w < workerCount; w++) {
+            Thread worker = new Thread(this::drain, "analytics-" + w);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    // One per producing thread; not thread-safe.
+    public final class Recorder {
+        private Batch batch;
+        private int move;
+
+        private Recorder() {
+        }
+
+        public void guess(long guess, int feedback) {
+            if (batch == null) {
+                Batch recycled = free.poll();
+                batch = recycled != null ? recycled : new Batch();
+            }
+            batch.events[batch.size++] = (long) space.ordinal(guess) << 32 | (long) ++move << 16 | feedback;
+        }
+
+        // Batches are only handed over between games, so no game is ever split across workers.
+        public void endGame() {
+            move = 0;
+            if (batch != null && batch.size > BATCH_EVENTS - maxAttempts) {
+                flush();
+            }
+        }
+
+        public void flush() {
+            if (batch != null && batch.size > 0) {
+                try {
+                    full.put(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while handing game events to analytics", e);
+                }
+            }
+            batch = null;
+        }
+    }
+
+    public Recorder recorder() {
+        return new Recorder();
+    }
+
+    // After a failure the worker keeps draining, so producers never block on a queue nobody empties.
+    private void drain() {
+        GameAnalytics local = new GameAnalytics(space.length(), maxAttempts);
+        Candidates candidates = new Candidates(space);
+        try {
+            for (Batch batch = full.take(); batch != END; batch = full.take()) {
+                if (failure.get() == null) {
+                    try {
+                        fold(batch, candidates, local);
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+                batch.size = 0;
+                free.offer(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (results) {
+            results.add(local);
+        }
+    }
+
+    private void fold(Batch batch, Candidates candidates, GameAnalytics analytics) {
+        int solved = Scorer.solved(space.length());
+        long opening = 0;
+        int openingRemaining = 0;
+        int lastMove = 0;
+        int lastFeedback = 0;
+        for (int i = 0; i < batch.size; i++) {
+            long event = batch.events[i];
+            long guess = space.code((int) (event >>> 32));
+            int move = (int) (event >>> 16) & 0xFFFF;
+            int feedback = (int) event & 0xFFFF;
+            if (move == 1) {
+                if (lastMove > 0) {
+                    analytics.recordGame(opening, openingRemaining, lastFeedback == solved, lastMove);
+                }
+                candidates.size = -1;
+                opening = guess;
+            }
+            int remaining = candidates.narrow(guess, feedback);
+            analytics.recordMove(move, feedback, remaining);
+            if (move == 1) {
+                openingRemaining = remaining;
+            }
+            lastMove = move;
+            lastFeedback = feedback;
+        }
+        if (lastMove > 0) {
+            analytics.recordGame(opening, openingRemaining, lastFeedback == solved, lastMove);
+        }
+    }
+
+    // Every recorder must have been flushed; the pipeline cannot be used afterwards.
+    public GameAnalytics finish() throws InterruptedException {
+        for (int w = 0; w < workers.size(); w++) {
+            full.put(END);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Analytics worker failed", failure.get());
+        }
+        GameAnalytics total = new GameAnalytics(space.length(), maxAttempts);
+        synchronized (results) {
+            for (GameAnalytics result : results) {
+                total.merge(result);
+            }
+        }
+        return total;
+    }
+}
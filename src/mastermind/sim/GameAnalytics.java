@@ -0,0 +1,207 @@
+package mastermind.sim;
+
+import mastermind.engine.PackedCode;
+import mastermind.engine.Scorer;
+
+import java.util.Arrays;
+
+/**
+ * Per-move distributions over many games, held entirely in primitive arrays: feedback frequency and candidate-set
+ * size (in power-of-two buckets) after each move, plus outcome totals per opening. Openings are grouped by their
+ * symbol pattern (1122 and 3344 are both AABB), which is what decides their quality on a fresh board and keeps the
+ * table small however many games are folded in. Instances are filled by one worker each and combined with
+ * {@link #merge}.
+ */
+public final class GameAnalytics {
+    private static final int SIZE_BUCKETS = 33;
+
+    private final int length;
+    private final int maxAttempts;
+    private final int slots;
+    private final long[] feedbackCounts;
+    private final long[] sizeBuckets;
+    private final long[] sizeTotals;
+    private long games;
+    private long wins;
+    private long[] openings = new long[4];
+    private long[] openingGames = new long[4];
+    private long[] openingWins = new long[4];
+    private long[] openingGuesses = new long[4];
+    private long[] openingRemaining = new long[4];
+    private int openingCount;
+
+    public GameAnalytics(int length, int maxAttempts) {
+        this.length = length;
+        this.maxAttempts = maxAttempts;
+        this.slots = Scorer.slots(length);
+        this.feedbackCounts = new long[(maxAttempts + 1) * slots];
+        this.sizeBuckets = new long[(maxAttempts + 1) * SIZE_BUCKETS];
+        this.sizeTotals = new long[maxAttempts + 1];
+    }
+
+    void recordMove(int move, int feedback, int remaining) {
+        feedbackCounts[move * slots + feedback]++;
+        sizeBuckets[move * SIZE_BUCKETS + bucket(remaining)]++;
+        sizeTotals[move] += remaining;
+    }
+
+    void recordGame(long opening, int remainingAfterOpening, boolean won, int guesses) {
+        games++;
+        int o = opening(pattern(opening));
+        openingGames[o]++;
+        openingGuesses[o] += guesses;
+        openingRemaining[o] += remainingAfterOpening;
+        if (won) {
+            wins++;
+            openingWins[o]++;
+        }
+    }
+
+    public void merge(GameAnalytics other) {
+        if (other.length != length || other.maxAttempts != maxAttempts) {
+            throw new IllegalArgumentException("Cannot merge analytics of different games");
+        }
+        add(feedbackCounts, other.feedbackCounts);
+        add(sizeBuckets, other.sizeBuckets);
+        add(sizeTotals, other.sizeTotals);
+        games += other.games;
+        wins += other.wins;
+        for (int i = 0; i < other.openingCount; i++) {
+            int o = opening(other.openings[i]);
+            openingGames[o] += other.openingGames[i];
+            openingWins[o] += other.openingWins[i];
+            openingGuesses[o] += other.openingGuesses[i];
+            openingRemaining[o] += other.openingRemaining[i];
+        }
+    }
+
+    private static void add(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+
+    // Bucket b holds sizes in [2^(b-1), 2^b); bucket 0 holds an empty set.
+    private static int bucket(int remaining) {
+        return 32 - Integer.numberOfLeadingZeros(remaining);
+    }
+
+    // Symbol multiplicities in descending order, one nibble each.
+    private long pattern(long code) {
+        long histogram = PackedCode.histogram(code, length);
+        int[] counts = new int[PackedCode.MAX_SYMBOLS];
+        for (int s = 0; s < counts.length; s++) {
+            counts[s] = (int) ((histogram >>> (s * PackedCode.BITS_PER_PEG)) & 0xF);
+        }
+        Arrays.sort(counts);
+        long pattern = 0;
+        for (int s = counts.length - 1; s >= 0 && counts[s] > 0; s--) {
+            pattern = (pattern << PackedCode.BITS_PER_PEG) | counts[s];
+        }
+        return pattern;
+    }
+
+    private int opening(long pattern) {
+        for (int i = 0; i < openingCount; i++) {
+            if (openings[i] == pattern) {
+                return i;
+            }
+        }
+        if (openingCount == openings.length) {
+            int capacity = openingCount * 2;
+            openings = Arrays.copyOf(openings, capacity);
+            openingGames = Arrays.copyOf(openingGames, capacity);
+            openingWins = Arrays.copyOf(openingWins, capacity);
+            openingGuesses = Arrays.copyOf(openingGuesses, capacity);
+            openingRemaining = Arrays.copyOf(openingRemaining, capacity);
+        }
+        openings[openingCount] = pattern;
+        return openingCount++;
+    }
+
+    public long games() {
+        return games;
+    }
+
+    public long wins() {
+        return wins;
+    }
+
+    public long moves(int move) {
+        long moves = 0;
+        for (int f = 0; f < slots; f++) {
+            moves += feedbackCounts[move * slots + f];
+        }
+        return moves;
+    }
+
+    public long feedbackCount(int move, int feedback) {
+        return feedbackCounts[move * slots + feedback];
+    }
+
+    public double meanCandidates(int move) {
+        long moves = moves(move);
+        return moves == 0 ? 0 : (double) sizeTotals[move] / moves;
+    }
+
+    public long[] candidateHistogram(int move) {
+        return Arrays.copyOfRange(sizeBuckets, move * SIZE_BUCKETS, (move + 1) * SIZE_BUCKETS);
+    }
+
+    // Largest size in the first bucket that, with the buckets below it, holds at least the given percent of sets after
+    // this move: 2^b - 1 for bucket b, so the answer is exact only for empty and single-code sets.
+    public int percentileCandidates(int move, double percentile) {
+        long moves = moves(move);
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * moves));
+        long seen = 0;
+        for (int b = 0; b < SIZE_BUCKETS; b++) {
+            seen += sizeBuckets[move * SIZE_BUCKETS + b];
+            if (seen >= rank) {
+                return b == 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, (1L << b) - 1);
+            }
+        }
+        return 0;
+    }
+
+    private static String patternName(long pattern) {
+        StringBuilder name = new StringBuilder();
+        char symbol = 'A';
+        for (int shift = 60; shift >= 0; shift -= PackedCode.BITS_PER_PEG) {
+            int count = (int) ((pattern >>> shift) & 0xF);
+            if (count > 0) {
+                name.append(String.valueOf(symbol++).repeat(count));
+            }
+        }
+        return name.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("games=%d wins=%d%n", games, wins));
+        text.append(String.format("%4s %12s %12s %8s %8s  %s%n", "move", "moves", "mean left", "p50<=", "p99<=",
+                "top feedback"));
+        for (int move = 1; move <= maxAttempts; move++) {
+            long moves = moves(move);
+            if (moves == 0) {
+                continue;
+            }
+            int top = 0;
+            for (int f = 1; f < slots; f++) {
+                if (feedbackCounts[move * slots + f] > feedbackCounts[move * slots + top]) {
+                    top = f;
+                }
+            }
+            text.append(String.format("%4d %12d %12.2f %8d %8d  %dB%dW %.1f%%%n", move, moves, meanCandidates(move),
+                    percentileCandidates(move, 50), percentileCandidates(move, 99), Scorer.black(top),
+                    Scorer.white(top), 100.0 * feedbackCount(move, top) / moves));
+        }
+        text.append(String.format("%-16s %12s %10s %10s %12s%n", "opening", "games", "mean", "win rate",
+                "left after"));
+        for (int i = 0; i < openingCount; i++) {
+            text.append(String.format("%-16s %12d %10.4f %10.4f %12.2f%n", patternName(openings[i]), openingGames[i],
+                    (double) openingGuesses[i] / openingGames[i], (double) openingWins[i] / openingGames[i],
+                    (double) openingRemaining[i] / openingGames[i]));
+        }
+        return text.toString();
+    }
+}
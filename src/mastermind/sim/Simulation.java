@@ -0,0 +1,172 @@
+package mastermind.sim;
+
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+import mastermind.engine.Scorer;
+import mastermind.solver.BookGuesser;
+import mastermind.solver.DecisionTree;
+import mastermind.solver.Guesser;
+import mastermind.solver.OpeningBook;
+import mastermind.solver.Solver;
+import mastermind.solver.Strategy;
+import mastermind.solver.TreeGuesser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public final class Simulation {
+    private static final int BATCH = 64;
+
+    private final CodeSpace space;
+    private final int maxAttempts;
+    private final Supplier<? extends Guesser> guessers;
+
+    public Simulation(CodeSpace space, int maxAttempts, Supplier<? extends Guesser> guessers) {
+        this.space = space;
+        this.maxAttempts = maxAttempts;
+        this.guessers = guessers;
+    }
+
+    public SimulationStats run(long games, int threads, boolean virtualThreads, long seed,
+                               Consumer<SimulationStats> progress) throws InterruptedException {
+        return run(games, threads, virtualThreads, seed, progress, null);
+    }
+
+    // Every guess of every game is also streamed to the analytics pipeline when one is given.
+    public SimulationStats run(long games, int threads, boolean virtualThreads, long seed,
+                               Consumer<SimulationStats> progress, AnalyticsPipeline analytics)
+            throws InterruptedException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("A simulation needs at least one thread, not " + threads);
+        }
+        SimulationStats total = new SimulationStats(maxAttempts);
+        long start = System.nanoTime();
+        CodeGenerator generator = new CodeGenerator(space, seed);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        if (progress != null) {
+            reporter.scheduleAtFixedRate(() -> progress.accept(snapshot(total, start)), 1, 1, TimeUnit.SECONDS);
+        }
+        try (ExecutorService workers = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> shards = new ArrayList<>(threads);
+            for (int shard = 0; shard < threads; shard++) {
+                long shardGames = games / threads + (shard < games % threads ? 1 : 0);
+                SplittableRandom random = generator.split();
+                shards.add(workers.submit(() -> play(generator, shardGames, random, total,
+                        analytics == null ? null : analytics.recorder())));
+            }
+            for (Future<?> shard : shards) {
+                shard.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation worker failed", e.getCause());
+        } finally {
+            reporter.shutdownNow();
+        }
+        return snapshot(total, start);
+    }
+
+    private void play(CodeGenerator generator, long games, SplittableRandom random, SimulationStats total,
+                      AnalyticsPipeline.Recorder recorder) {
+        Guesser guesser = guessers.get();
+        SimulationStats local = new SimulationStats(maxAttempts);
+        for (long game = 0; game < games; game++) {
+            int guesses = playGame(guesser, generator.next(random), space.length(), maxAttempts, recorder);
+            local.record(guesses > 0, guesses > 0 ? guesses : maxAttempts);
+            if (local.games() == BATCH) {
+                flush(local, total);
+            }
+        }
+        flush(local, total);
+        if (recorder != null) {
+            recorder.flush();
+        }
+    }
+
+    // Returns the number of guesses needed, or -1 if the secret was not found within maxAttempts.
+    static int playGame(Guesser guesser, long secret, int length, int maxAttempts) {
+        return playGame(guesser, secret, length, maxAttempts, null);
+    }
+
+    static int playGame(Guesser guesser, long secret, int length, int maxAttempts,
+                        AnalyticsPipeline.Recorder recorder) {
+        int solved = Scorer.solved(length);
+        guesser.reset();
+        for (int guesses = 1; guesses <= maxAttempts; guesses++) {
+            long guess = guesser.nextGuess();
+            int feedback = Scorer.score(secret, guess, length);
+            if (recorder != null) {
+                recorder.guess(guess, feedback);
+            }
+            if (feedback == solved) {
+                endGame(recorder);
+                return guesses;
+            }
+            guesser.onFeedback(guess, feedback);
+        }
+        endGame(recorder);
+        return -1;
+    }
+
+    private static void endGame(AnalyticsPipeline.Recorder recorder) {
+        if (recorder != null) {
+            recorder.endGame();
+        }
+    }
+
+    private static void flush(SimulationStats local, SimulationStats total) {
+        synchronized (total) {
+            total.merge(local);
+        }
+        local.clear();
+    }
+
+    private static SimulationStats snapshot(SimulationStats total, long start) {
+        synchronized (total) {
+            return total.copy(System.nanoTime() - start);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String strategyName = args.length > 2 ? args[2].toUpperCase() : Strategy.MINIMAX.name();
+        boolean virtualThreads = args.length > 3 && Boolean.parseBoolean(args[3]);
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        int analysisWorkers = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+
+        CodeSpace space = CodeSpace.of(4, false, false);
+        // The shards already keep every core busy, so each solver partitions on its own thread.
+        Simulation simulation;
+        if (strategyName.equals("OPTIMAL")) {
+            // Reads the strategy written by OptimalSearch; histories too deep for it fall back to minimax.
+            DecisionTree tree = DecisionTree.load(DecisionTree.defaultPath(space), space);
+            simulation = new Simulation(space, 10, () -> new TreeGuesser(tree, new Solver(space, Strategy.MINIMAX, false)));
+        } else {
+            Strategy strategy = Strategy.valueOf(strategyName);
+            OpeningBook book = OpeningBook.loadOrBuild(space, strategy, 3, 1 << 16);
+            simulation = new Simulation(space, 10, () -> new BookGuesser(book, new Solver(space, strategy, false)));
+        }
+        AnalyticsPipeline analytics = analysisWorkers > 0
+                ? new AnalyticsPipeline(space, 10, analysisWorkers, analysisWorkers * 4)
+                : null;
+        SimulationStats stats = simulation.run(games, threads, virtualThreads, seed,
+                snapshot -> System.out.printf("%d games, %.1f games/sec%n", snapshot.games(), snapshot.gamesPerSecond()),
+                analytics);
+        System.out.print(stats);
+        if (analytics != null) {
+            System.out.print(analytics.finish());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package mastermind.sim;
+
+import java.util.Arrays;
+
+public final class SimulationStats {
+    private final long[] guessHistogram;
+    private long games;
+    private long wins;
+    private long totalGuesses;
+    private long cpuNanos;
+    private long elapsedNanos;
+
+    public SimulationStats(int maxAttempts) {
+        this.guessHistogram = new long[maxAttempts + 1];
+    }
+
+    void record(boolean won, int guesses) {
+        games++;
+        if (won) {
+            wins++;
+            guessHistogram[guesses]++;
+        }
+        totalGuesses += guesses;
+    }
+
+    void recordCpu(long nanos) {
+        cpuNanos += nanos;
+    }
+
+    void merge(SimulationStats other) {
+        for (int i = 0; i < guessHistogram.length; i++) {
+            guessHistogram[i] += other.guessHistogram[i];
+        }
+        games += other.games;
+        wins += other.wins;
+        totalGuesses += other.totalGuesses;
+        cpuNanos += other.cpuNanos;
+    }
+
+    void clear() {
+        Arrays.fill(guessHistogram, 0);
+        games = 0;
+        wins = 0;
+        totalGuesses = 0;
+        cpuNanos = 0;
+    }
+
+    SimulationStats copy(long elapsedNanos) {
+        SimulationStats copy = new SimulationStats(guessHistogram.length - 1);
+        copy.merge(this);
+        copy.elapsedNanos = elapsedNanos;
+        return copy;
+    }
+
+    public long games() {
+        return games;
+    }
+
+    public long wins() {
+        return wins;
+    }
+
+    public double winRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    public double averageGuesses() {
+        return games == 0 ? 0 : (double) totalGuesses / games;
+    }
+
+    // Lost games rank after every win, at the attempt limit.
+    public int percentileGuesses(double percentile) {
+        if (games == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * games));
+        long seen = 0;
+        for (int guesses = 1; guesses < guessHistogram.length; guesses++) {
+            seen += guessHistogram[guesses];
+            if (seen >= rank) {
+                return guesses;
+            }
+        }
+        return guessHistogram.length - 1;
+    }
+
+    public double cpuNanosPerGame() {
+        return games == 0 ? 0 : (double) cpuNanos / games;
+    }
+
+    public long[] guessHistogram() {
+        return guessHistogram.clone();
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("games=%d wins=%d winRate=%.4f avgGuesses=%.4f games/sec=%.1f%n",
+                games, wins, winRate(), averageGuesses(), gamesPerSecond()));
+        for (int guesses = 1; guesses < guessHistogram.length; guesses++) {
+            if (guessHistogram[guesses] > 0) {
+                text.append(String.format("  %2d guesses: %d%n", guesses, guessHistogram[guesses]));
+            }
+        }
+        return text.toString();
+    }
+}
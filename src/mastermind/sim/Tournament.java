@@ -0,0 +1,171 @@
+package mastermind.sim;
+
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+import mastermind.solver.BookGuesser;
+import mastermind.solver.DecisionTree;
+import mastermind.solver.Guesser;
+import mastermind.solver.OpeningBook;
+import mastermind.solver.Solver;
+import mastermind.solver.Strategy;
+import mastermind.solver.TreeGuesser;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Plays every entrant against the same seeded secrets: game i always uses {@code CodeGenerator.forGame(i)}, the
+ * stream {@code SecretCode} draws from, however the jobs are scheduled. Jobs of {@value #CHUNK} games per entrant are
+ * fed to a work-stealing pool through a semaphore, so only a bounded number are ever in flight and memory stays
+ * constant however many games are played.
+ */
+public final class Tournament {
+    private static final int CHUNK = 256;
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+
+    public record Entrant(String name, Supplier<? extends Guesser> guessers) {
+    }
+
+    private final CodeSpace space;
+    private final int maxAttempts;
+    private final List<Entrant> entrants;
+
+    public Tournament(CodeSpace space, int maxAttempts, List<Entrant> entrants) {
+        if (entrants.isEmpty()) {
+            throw new IllegalArgumentException("A tournament needs at least one entrant");
+        }
+        this.space = space;
+        this.maxAttempts = maxAttempts;
+        this.entrants = List.copyOf(entrants);
+    }
+
+    public Map<String, SimulationStats> run(long games, int threads, long seed,
+                                            Consumer<Map<String, SimulationStats>> progress)
+            throws InterruptedException {
+        CodeGenerator generator = new CodeGenerator(space, seed);
+        List<SimulationStats> totals = new ArrayList<>(entrants.size());
+        List<ThreadLocal<Guesser>> guessers = new ArrayList<>(entrants.size());
+        for (Entrant entrant : entrants) {
+            totals.add(new SimulationStats(maxAttempts));
+            guessers.add(ThreadLocal.withInitial(entrant.guessers()::get));
+        }
+        long start = System.nanoTime();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        if (progress != null) {
+            reporter.scheduleAtFixedRate(() -> progress.accept(standings(totals, start)), 1, 1, TimeUnit.SECONDS);
+        }
+        int permits = threads * IN_FLIGHT_PER_THREAD;
+        Semaphore inFlight = new Semaphore(permits);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (long first = 0; first < games && failure.get() == null; first += CHUNK) {
+                long from = first;
+                long to = Math.min(games, first + CHUNK);
+                for (int e = 0; e < entrants.size(); e++) {
+                    ThreadLocal<Guesser> local = guessers.get(e);
+                    SimulationStats total = totals.get(e);
+                    inFlight.acquire();
+                    pool.execute(() -> {
+                        try {
+                            play(local.get(), generator, from, to, total);
+                        } catch (Throwable t) {
+                            failure.compareAndSet(null, t);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            }
+            inFlight.acquire(permits);
+        } finally {
+            pool.shutdownNow();
+            reporter.shutdownNow();
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Tournament worker failed", failure.get());
+        }
+        return standings(totals, start);
+    }
+
+    private void play(Guesser guesser, CodeGenerator generator, long from, long to, SimulationStats total) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        SimulationStats local = new SimulationStats(maxAttempts);
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        for (long game = from; game < to; game++) {
+            int guesses = Simulation.playGame(guesser, generator.forGame(game), space.length(), maxAttempts);
+            local.record(guesses > 0, guesses > 0 ? guesses : maxAttempts);
+        }
+        local.recordCpu(threads.getCurrentThreadCpuTime() - cpuStart);
+        synchronized (total) {
+            total.merge(local);
+        }
+    }
+
+    private Map<String, SimulationStats> standings(List<SimulationStats> totals, long start) {
+        Map<String, SimulationStats> standings = new LinkedHashMap<>();
+        for (int e = 0; e < entrants.size(); e++) {
+            SimulationStats total = totals.get(e);
+            synchronized (total) {
+                standings.put(entrants.get(e).name(), total.copy(System.nanoTime() - start));
+            }
+        }
+        return standings;
+    }
+
+    public static String format(Map<String, SimulationStats> standings) {
+        List<Map.Entry<String, SimulationStats>> ranked = new ArrayList<>(standings.entrySet());
+        ranked.sort(Comparator.comparingDouble((Map.Entry<String, SimulationStats> e) -> e.getValue().averageGuesses())
+                .thenComparingInt(e -> e.getValue().percentileGuesses(99)));
+        StringBuilder text = new StringBuilder(String.format("%-4s %-16s %10s %8s %6s %6s %6s %6s %12s%n",
+                "rank", "entrant", "games", "mean", "p50", "p90", "p99", "max", "cpu us/game"));
+        int rank = 1;
+        for (Map.Entry<String, SimulationStats> entry : ranked) {
+            SimulationStats stats = entry.getValue();
+            text.append(String.format("%-4d %-16s %10d %8.4f %6d %6d %6d %6d %12.1f%n", rank++, entry.getKey(),
+                    stats.games(), stats.averageGuesses(), stats.percentileGuesses(50), stats.percentileGuesses(90),
+                    stats.percentileGuesses(99), stats.percentileGuesses(100), stats.cpuNanosPerGame() / 1e3));
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        CodeSpace space = CodeSpace.of(4, false, false);
+        List<Entrant> entrants = new ArrayList<>();
+        for (Strategy strategy : Strategy.values()) {
+            OpeningBook book = OpeningBook.loadOrBuild(space, strategy, 3, 1 << 16);
+            entrants.add(new Entrant(strategy.name(), () -> new BookGuesser(book, new Solver(space, strategy, false))));
+        }
+        Path treePath = DecisionTree.defaultPath(space);
+        if (Files.isRegularFile(treePath)) {
+            DecisionTree tree = DecisionTree.load(treePath, space);
+            entrants.add(new Entrant("OPTIMAL", () -> new TreeGuesser(tree, new Solver(space, Strategy.MINIMAX, false))));
+        }
+
+        Tournament tournament = new Tournament(space, 10, entrants);
+        Map<String, SimulationStats> standings = tournament.run(games, threads, seed,
+                snapshot -> System.out.print(format(snapshot)));
+        System.out.println("Final standings after " + games + " games per entrant:");
+        System.out.print(format(standings));
+    }
+}
@@ -0,0 +1,54 @@
+package mastermind.solver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class BookGuesser implements Guesser {
+    private final OpeningBook book;
+    private final Guesser solver;
+    // Solver answers for histories past the book, kept per guesser so lookups never contend across threads.
+    private final Map<Long, Long> deeper;
+    private long history;
+
+    public BookGuesser(OpeningBook book, Guesser solver) {
+        this.book = book;
+        this.solver = solver;
+        int cacheSize = book.cacheSize();
+        this.deeper = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        solver.reset();
+        history = OpeningBook.ROOT;
+    }
+
+    @Override
+    public long nextGuess() {
+        long guess = book.guess(history);
+        if (guess != OpeningBook.MISSING) {
+            return guess;
+        }
+        Long cached = history == OpeningBook.MISSING ? null : deeper.get(history);
+        if (cached != null) {
+            return cached;
+        }
+        guess = solver.nextGuess();
+        if (history != OpeningBook.MISSING) {
+            deeper.put(history, guess);
+        }
+        return guess;
+    }
+
+    @Override
+    public void onFeedback(long guess, int feedback) {
+        solver.onFeedback(guess, feedback);
+        history = OpeningBook.extend(history, feedback, book.space().length());
+    }
+}
@@ -0,0 +1,112 @@
+package mastermind.solver;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.FeedbackTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+public final class DecisionTree {
+    private static final int MAGIC = 0x4D4D4454;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 22;
+    private static final int ENTRY_BYTES = 16;
+
+    private final CodeSpace space;
+    private final long totalGuesses;
+    private final long[] keys;
+    private final long[] guesses;
+
+    DecisionTree(CodeSpace space, long totalGuesses, long[] keys, long[] guesses) {
+        long[] sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+        long[] sortedGuesses = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sortedGuesses[Arrays.binarySearch(sortedKeys, keys[i])] = guesses[i];
+        }
+        this.space = space;
+        this.totalGuesses = totalGuesses;
+        this.keys = sortedKeys;
+        this.guesses = sortedGuesses;
+    }
+
+    public static Path defaultPath(CodeSpace space) {
+        Path tables = FeedbackTable.defaultPath(space).getParent();
+        return tables.resolve("optimal-" + space.length() + "x" + space.symbolCount() + ".tree");
+    }
+
+    public static DecisionTree load(Path path, CodeSpace space) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalArgumentException("Not a strategy file");
+            }
+            int length = in.readUnsignedByte();
+            int symbolCount = in.readUnsignedByte();
+            if (length != space.length() || symbolCount != space.symbolCount()) {
+                throw new IllegalArgumentException("Strategy computed for " + length + "x" + symbolCount);
+            }
+            long totalGuesses = in.readLong();
+            int count = in.readInt();
+            if (count < 0 || Files.size(path) != HEADER_BYTES + (long) count * ENTRY_BYTES) {
+                throw new IOException("Corrupt strategy file: " + count + " entries in " + Files.size(path) + " bytes");
+            }
+            long[] keys = new long[count];
+            long[] guesses = new long[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = in.readLong();
+                guesses[i] = in.readLong();
+            }
+            return new DecisionTree(space, totalGuesses, keys, guesses);
+        }
+    }
+
+    public void save(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeByte(space.length());
+            out.writeByte(space.symbolCount());
+            out.writeLong(totalGuesses);
+            out.writeInt(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                out.writeLong(keys[i]);
+                out.writeLong(guesses[i]);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // History keys are built with OpeningBook.extend, so deep histories it cannot encode have no entry.
+    public long guess(long history) {
+        if (history == OpeningBook.MISSING) {
+            return OpeningBook.MISSING;
+        }
+        int index = Arrays.binarySearch(keys, history);
+        return index >= 0 ? guesses[index] : OpeningBook.MISSING;
+    }
+
+    public CodeSpace space() {
+        return space;
+    }
+
+    public double expectedGuesses() {
+        return (double) totalGuesses / space.size();
+    }
+
+    public int size() {
+        return keys.length;
+    }
+}
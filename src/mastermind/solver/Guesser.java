@@ -0,0 +1,9 @@
+package mastermind.solver;
+
+public interface Guesser {
+    void reset();
+
+    long nextGuess();
+
+    void onFeedback(long guess, int feedback);
+}
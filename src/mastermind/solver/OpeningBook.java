@@ -0,0 +1,214 @@
+package mastermind.solver;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.FeedbackTable;
+import mastermind.engine.Scorer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+public final class OpeningBook {
+    public static final long ROOT = 0;
+    public static final long MISSING = -1;
+
+    private static final int MAGIC = 0x4D4D4F42;
+    private static final int VERSION = 1;
+    static final int MAX_DEPTH = 7;
+    private static final int DEPTH_SHIFT = 56;
+
+    private final CodeSpace space;
+    private final Strategy strategy;
+    private final int depth;
+    private final long[] keys;
+    private final long[] guesses;
+    private final int cacheSize;
+
+    private OpeningBook(CodeSpace space, Strategy strategy, int depth, long[] keys, long[] guesses, int cacheSize) {
+        this.space = space;
+        this.strategy = strategy;
+        this.depth = depth;
+        this.keys = keys;
+        this.guesses = guesses;
+        this.cacheSize = cacheSize;
+    }
+
+    public static OpeningBook build(CodeSpace space, Strategy strategy, int depth, int cacheSize) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Book depth must be between 1 and " + MAX_DEPTH);
+        }
+        int solved = Scorer.solved(space.length());
+        int count = 0;
+        long[] keys = new long[64];
+        long[] guesses = new long[64];
+        Deque<long[]> pending = new ArrayDeque<>();
+        pending.add(new long[0]);
+        while (!pending.isEmpty()) {
+            long[] path = pending.poll();
+            Solver solver = new Solver(space, strategy);
+            long key = ROOT;
+            for (int i = 0; i < path.length; i += 2) {
+                solver.onFeedback(path[i], (int) path[i + 1]);
+                key = extend(key, (int) path[i + 1], space.length());
+            }
+            long guess = solver.nextGuess();
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                guesses = Arrays.copyOf(guesses, count * 2);
+            }
+            keys[count] = key;
+            guesses[count] = guess;
+            count++;
+            if (path.length / 2 + 1 >= depth) {
+                continue;
+            }
+            int[] partitions = solver.partition(guess);
+            for (int feedback = 0; feedback < partitions.length; feedback++) {
+                if (partitions[feedback] > 1 && feedback != solved) {
+                    long[] next = Arrays.copyOf(path, path.length + 2);
+                    next[path.length] = guess;
+                    next[path.length + 1] = feedback;
+                    pending.add(next);
+                }
+            }
+        }
+        return sorted(space, strategy, depth, Arrays.copyOf(keys, count), Arrays.copyOf(guesses, count), cacheSize);
+    }
+
+    private static OpeningBook sorted(CodeSpace space, Strategy strategy, int depth, long[] keys, long[] guesses,
+                                      int cacheSize) {
+        long[] sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+        long[] sortedGuesses = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sortedGuesses[Arrays.binarySearch(sortedKeys, keys[i])] = guesses[i];
+        }
+        return new OpeningBook(space, strategy, depth, sortedKeys, sortedGuesses, cacheSize);
+    }
+
+    public static Path defaultPath(CodeSpace space, Strategy strategy) {
+        Path tables = FeedbackTable.defaultPath(space).getParent();
+        return tables.resolve("opening-" + space.length() + "x" + space.symbolCount() + "-"
+                + strategy.name().toLowerCase() + ".book");
+    }
+
+    public static OpeningBook loadOrBuild(CodeSpace space, Strategy strategy, int depth, int cacheSize) {
+        Path path = defaultPath(space, strategy);
+        if (Files.isRegularFile(path)) {
+            try {
+                OpeningBook book = load(path, space, cacheSize);
+                if (book.strategy == strategy && book.depth >= depth) {
+                    return book;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Rebuilding opening book " + path + ": " + e.getMessage());
+            }
+        }
+        OpeningBook book = build(space, strategy, depth, cacheSize);
+        try {
+            book.save(path);
+        } catch (IOException e) {
+            System.err.println("Could not persist opening book " + path + ": " + e.getMessage());
+        }
+        return book;
+    }
+
+    public static OpeningBook load(Path path, CodeSpace space, int cacheSize) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalArgumentException("Not an opening book");
+            }
+            int length = in.readUnsignedByte();
+            int symbolCount = in.readUnsignedByte();
+            if (length != space.length() || symbolCount != space.symbolCount()) {
+                throw new IllegalArgumentException("Opening book built for " + length + "x" + symbolCount);
+            }
+            int strategyOrdinal = in.readUnsignedByte();
+            if (strategyOrdinal >= Strategy.values().length) {
+                throw new IllegalArgumentException("Opening book uses unknown strategy " + strategyOrdinal);
+            }
+            Strategy strategy = Strategy.values()[strategyOrdinal];
+            int depth = in.readUnsignedByte();
+            int count = in.readInt();
+            // Each entry is a key and a guess, so the file size bounds the count before anything is allocated.
+            if (depth < 1 || depth > MAX_DEPTH || count < 0 || count > Files.size(path) / (2 * Long.BYTES)) {
+                throw new IllegalArgumentException("Corrupt opening book header");
+            }
+            long[] keys = new long[count];
+            long[] guesses = new long[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = in.readLong();
+                guesses[i] = in.readLong();
+            }
+            return new OpeningBook(space, strategy, depth, keys, guesses, cacheSize);
+        }
+    }
+
+    public void save(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeByte(space.length());
+            out.writeByte(space.symbolCount());
+            out.writeByte(strategy.ordinal());
+            out.writeByte(depth);
+            out.writeInt(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                out.writeLong(keys[i]);
+                out.writeLong(guesses[i]);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static long extend(long history, int feedback, int length) {
+        if (history == MISSING) {
+            return MISSING;
+        }
+        int depth = (int) (history >>> DEPTH_SHIFT);
+        if (depth >= MAX_DEPTH) {
+            return MISSING;
+        }
+        long dense = Scorer.black(feedback) * (length + 1L) + Scorer.white(feedback);
+        return ((long) (depth + 1) << DEPTH_SHIFT) | (history & ((1L << DEPTH_SHIFT) - 1)) | (dense << (8 * depth));
+    }
+
+    public long guess(long history) {
+        if (history == MISSING) {
+            return MISSING;
+        }
+        int index = Arrays.binarySearch(keys, history);
+        return index >= 0 ? guesses[index] : MISSING;
+    }
+
+    // How many solver answers past the book each guesser keeps.
+    int cacheSize() {
+        return cacheSize;
+    }
+
+    public CodeSpace space() {
+        return space;
+    }
+
+    public Strategy strategy() {
+        return strategy;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+}
@@ -0,0 +1,440 @@
+package mastermind.solver;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.FeedbackTable;
+import mastermind.engine.PackedCode;
+import mastermind.engine.Scorer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exhaustive branch-and-bound search for the decision tree with the fewest total guesses over all secrets, i.e. the
+ * minimum expected number of guesses. Each candidate set is solved exactly and memoized under a 128-bit hash of its
+ * members; guesses are tried in order of a counting lower bound, and a guess is abandoned as soon as its partial cost
+ * reaches the best tree found so far. The memo doubles as the checkpoint, so an interrupted run resumes from the
+ * subsets it already solved.
+ */
+public final class OptimalSearch {
+    private static final int MAGIC = 0x4D4D4350;
+    private static final int VERSION = 1;
+    private static final int PARALLEL_SIZE = 64;
+    private static final long NO_GUESS = 0xFFFFFFFFL;
+    // Entries hold two longs of key and a boxed result; at about 100 bytes each the default cap stays under 1 GiB.
+    public static final int DEFAULT_MEMO_LIMIT = 1 << 23;
+
+    private final CodeSpace space;
+    private final int length;
+    private final int solved;
+    private final int slots;
+    private final long[] codes;
+    private final long[] histograms;
+    private final FeedbackTable table;
+    private final long[] lowerBounds;
+    private final int[] openingPool;
+    private final Map<Integer, int[]> pools = new ConcurrentHashMap<>();
+    private final Map<Key, Long> memo = new ConcurrentHashMap<>();
+    private final int memoLimit;
+    private final LongAdder nodes = new LongAdder();
+
+    record Key(long high, long low) {
+    }
+
+    public OptimalSearch(CodeSpace space) {
+        this(space, DEFAULT_MEMO_LIMIT);
+    }
+
+    // Once the memo holds memoLimit subsets, further results are not kept; the search stays exact but repeats work.
+    public OptimalSearch(CodeSpace space, int memoLimit) {
+        if (memoLimit < 0) {
+            throw new IllegalArgumentException("Memo limit must not be negative");
+        }
+        this.memoLimit = memoLimit;
+        this.space = space;
+        this.length = space.length();
+        this.solved = Scorer.solved(length);
+        this.slots = Scorer.slots(length);
+        this.codes = space.codes();
+        this.histograms = space.histograms();
+        this.table = FeedbackTable.supports(space) ? FeedbackTable.get(space) : null;
+        this.lowerBounds = lowerBounds(space.size(), branching(length));
+        long[] shapes = SymmetricSolver.shapes(length, space.symbolCount());
+        this.openingPool = new int[shapes.length];
+        for (int i = 0; i < shapes.length; i++) {
+            openingPool[i] = space.ordinal(shapes[i]);
+        }
+    }
+
+    // Feedback classes a guess can split candidates into, excluding the solved one and the impossible (length-1, 1).
+    private static int branching(int length) {
+        return Math.max(1, (length + 1) * (length + 2) / 2 - 2);
+    }
+
+    // Best possible total when every guess resolves one secret and splits the rest into `branching` classes.
+    private static long[] lowerBounds(int size, int branching) {
+        long[] bounds = new long[size + 1];
+        long capacity = 1;
+        long filled = 0;
+        int depth = 1;
+        for (int n = 1; n <= size; n++) {
+            if (filled == capacity) {
+                filled = 0;
+                capacity = Math.min(capacity * branching, Integer.MAX_VALUE);
+                depth++;
+            }
+            bounds[n] = bounds[n - 1] + depth;
+            filled++;
+        }
+        return bounds;
+    }
+
+    public long solve() {
+        int[] all = new int[space.size()];
+        Arrays.setAll(all, i -> i);
+        return ForkJoinPool.commonPool().invoke(new Node(all, 0)) >>> 32;
+    }
+
+    public DecisionTree tree() {
+        List<long[]> entries = new ArrayList<>();
+        int[] all = new int[space.size()];
+        Arrays.setAll(all, i -> i);
+        long[] truncated = new long[1];
+        long total = collect(all, 0, OpeningBook.ROOT, entries, truncated);
+        if (truncated[0] > 0) {
+            System.err.println("Strategy for " + space + " stops after " + (OpeningBook.MAX_DEPTH + 1) + " guesses: "
+                    + truncated[0] + " secrets need more and fall back to the solver");
+        }
+        long[] keys = new long[entries.size()];
+        long[] guesses = new long[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries.get(i)[0];
+            guesses[i] = entries.get(i)[1];
+        }
+        return new DecisionTree(space, total, keys, guesses);
+    }
+
+    // Counts in truncated the secrets whose history grows too deep for OpeningBook.extend to encode.
+    private long collect(int[] set, int usedSymbols, long history, List<long[]> entries, long[] truncated) {
+        long result = solve(set, usedSymbols);
+        int guess = (int) (result & NO_GUESS);
+        entries.add(new long[]{history, codes[guess]});
+        int[][] classes = partition(set, guess);
+        for (int feedback = 0; feedback < slots; feedback++) {
+            if (feedback == solved || classes[feedback] == null) {
+                continue;
+            }
+            long next = OpeningBook.extend(history, feedback, length);
+            if (next == OpeningBook.MISSING) {
+                truncated[0] += classes[feedback].length;
+            } else {
+                collect(classes[feedback], usedSymbols | symbolsOf(codes[guess]), next, entries, truncated);
+            }
+        }
+        return result >>> 32;
+    }
+
+    // Tasks are never serialized; RecursiveTask is Serializable only by inheritance.
+    @SuppressWarnings("serial")
+    private final class Node extends RecursiveTask<Long> {
+        private final int[] set;
+        private final int usedSymbols;
+
+        Node(int[] set, int usedSymbols) {
+            this.set = set;
+            this.usedSymbols = usedSymbols;
+        }
+
+        @Override
+        protected Long compute() {
+            return solve(set, usedSymbols);
+        }
+    }
+
+    // Returns the optimal total in the high word and the ordinal of the guess achieving it in the low word.
+    private long solve(int[] set, int usedSymbols) {
+        int n = set.length;
+        if (n <= 2) {
+            return ((long) (2 * n - 1) << 32) | set[0];
+        }
+        Key key = key(set);
+        Long known = memo.get(key);
+        if (known != null) {
+            return known;
+        }
+        nodes.increment();
+        int[] pool = usedSymbols == 0 ? openingPool : pool(usedSymbols);
+        long[] ranked = rank(set, pool);
+        long best = Long.MAX_VALUE;
+        long bestGuess = NO_GUESS;
+        for (long entry : ranked) {
+            long bound = entry >>> 32;
+            if (bound >= best) {
+                break;
+            }
+            int guess = pool[(int) (entry & Integer.MAX_VALUE)];
+            long cost = evaluate(set, guess, usedSymbols | symbolsOf(codes[guess]), bound, best);
+            if (cost < best) {
+                best = cost;
+                bestGuess = guess;
+            }
+        }
+        long result = (best << 32) | bestGuess;
+        remember(key, result);
+        return result;
+    }
+
+    // The size check races with other workers, so the memo can overshoot its limit by about one entry per thread.
+    private void remember(Key key, long result) {
+        if (memo.size() < memoLimit) {
+            memo.put(key, result);
+        }
+    }
+
+    // Orders useful guesses by lower bound, preferring possible secrets on ties.
+    private long[] rank(int[] set, int[] pool) {
+        int n = set.length;
+        long[] ranked = new long[pool.length];
+        int count = 0;
+        int[] sizes = new int[slots];
+        for (int g = 0; g < pool.length; g++) {
+            int guess = pool[g];
+            for (int secret : set) {
+                sizes[score(secret, guess)]++;
+            }
+            long bound = n;
+            boolean useful = true;
+            for (int feedback = 0; feedback < slots; feedback++) {
+                int size = sizes[feedback];
+                if (size == n && feedback != solved) {
+                    useful = false;
+                }
+                if (feedback != solved) {
+                    bound += lowerBounds[size];
+                }
+            }
+            if (useful) {
+                long candidate = sizes[solved] > 0 ? 0 : 1;
+                ranked[count++] = (bound << 32) | (candidate << 31) | g;
+            }
+            Arrays.fill(sizes, 0);
+        }
+        ranked = Arrays.copyOf(ranked, count);
+        Arrays.sort(ranked);
+        return ranked;
+    }
+
+    private long evaluate(int[] set, int guess, int usedSymbols, long bound, long best) {
+        int[][] classes = partition(set, guess);
+        List<int[]> open = new ArrayList<>();
+        for (int feedback = 0; feedback < slots; feedback++) {
+            if (feedback != solved && classes[feedback] != null && classes[feedback].length > 2) {
+                open.add(classes[feedback]);
+            }
+        }
+        open.sort((a, b) -> b.length - a.length);
+        long cost = bound;
+        if (set.length >= PARALLEL_SIZE && open.size() > 1 && ForkJoinTask.inForkJoinPool()) {
+            List<Node> children = new ArrayList<>(open.size());
+            for (int[] child : open) {
+                children.add(new Node(child, usedSymbols));
+            }
+            for (Node child : ForkJoinTask.invokeAll(children)) {
+                cost += (child.join() >>> 32) - lowerBounds[child.set.length];
+            }
+            return cost;
+        }
+        for (int[] child : open) {
+            cost += (solve(child, usedSymbols) >>> 32) - lowerBounds[child.length];
+            if (cost >= best) {
+                return cost;
+            }
+        }
+        return cost;
+    }
+
+    private int[][] partition(int[] set, int guess) {
+        int[] sizes = new int[slots];
+        byte[] feedbacks = new byte[set.length];
+        for (int i = 0; i < set.length; i++) {
+            int feedback = score(set[i], guess);
+            feedbacks[i] = (byte) feedback;
+            sizes[feedback]++;
+        }
+        int[][] classes = new int[slots][];
+        for (int feedback = 0; feedback < slots; feedback++) {
+            if (sizes[feedback] > 0) {
+                classes[feedback] = new int[sizes[feedback]];
+            }
+        }
+        Arrays.fill(sizes, 0);
+        for (int i = 0; i < set.length; i++) {
+            int feedback = feedbacks[i] & 0xFF;
+            classes[feedback][sizes[feedback]++] = set[i];
+        }
+        return classes;
+    }
+
+    private int score(int secret, int guess) {
+        if (table != null) {
+            return table.score(secret, guess);
+        }
+        return Scorer.score(codes[secret], histograms[secret], codes[guess], histograms[guess], length);
+    }
+
+    // Guesses that differ only by relabelling symbols never played split every reachable set identically.
+    private int[] pool(int usedSymbols) {
+        return pools.computeIfAbsent(usedSymbols, used -> {
+            int[] pool = new int[codes.length];
+            int count = 0;
+            for (int i = 0; i < codes.length; i++) {
+                if (SymmetricSolver.canonical(codes[i], used, length) == codes[i]) {
+                    pool[count++] = i;
+                }
+            }
+            return Arrays.copyOf(pool, count);
+        });
+    }
+
+    private int symbolsOf(long code) {
+        int symbols = 0;
+        for (int i = 0; i < length; i++) {
+            symbols |= 1 << PackedCode.peg(code, i);
+        }
+        return symbols;
+    }
+
+    private static Key key(int[] set) {
+        long high = set.length;
+        long low = ~(long) set.length;
+        for (int ordinal : set) {
+            high = mix(high ^ ordinal);
+            low = mix(low + ordinal * 0x9E3779B97F4A7C15L);
+        }
+        return new Key(high, low);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static Path checkpointPath(CodeSpace space) {
+        Path tables = FeedbackTable.defaultPath(space).getParent();
+        return tables.resolve("optimal-" + space.length() + "x" + space.symbolCount() + ".ckpt");
+    }
+
+    public int restore(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalArgumentException("Not a search checkpoint");
+            }
+            int length = in.readUnsignedByte();
+            int symbolCount = in.readUnsignedByte();
+            if (length != space.length() || symbolCount != space.symbolCount()) {
+                throw new IllegalArgumentException("Checkpoint written for " + length + "x" + symbolCount);
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IllegalArgumentException("Corrupt search checkpoint");
+            }
+            for (int i = 0; i < count; i++) {
+                remember(new Key(in.readLong(), in.readLong()), in.readLong());
+            }
+            return memo.size();
+        }
+    }
+
+    public int checkpoint(Path path) throws IOException {
+        List<Map.Entry<Key, Long>> entries = new ArrayList<>(memo.entrySet());
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeByte(space.length());
+            out.writeByte(space.symbolCount());
+            out.writeInt(entries.size());
+            for (Map.Entry<Key, Long> entry : entries) {
+                out.writeLong(entry.getKey().high());
+                out.writeLong(entry.getKey().low());
+                out.writeLong(entry.getValue());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return entries.size();
+    }
+
+    public long nodes() {
+        return nodes.sum();
+    }
+
+    public int memoized() {
+        return memo.size();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int symbols = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long checkpointSeconds = args.length > 2 ? Long.parseLong(args[2]) : 60;
+        int memoLimit = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MEMO_LIMIT;
+        CodeSpace space = CodeSpace.of(length, symbols);
+        OptimalSearch search = new OptimalSearch(space, memoLimit);
+        Path checkpoint = checkpointPath(space);
+        if (Files.isRegularFile(checkpoint)) {
+            try {
+                System.out.println("Resumed " + search.restore(checkpoint) + " solved subsets from " + checkpoint);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Ignoring checkpoint " + checkpoint + ": " + e.getMessage());
+            }
+        }
+
+        ScheduledExecutorService checkpointer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "search-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        checkpointer.scheduleAtFixedRate(() -> {
+            try {
+                int saved = search.checkpoint(checkpoint);
+                System.out.printf("%.0fs: %d nodes searched, %d subsets checkpointed%n",
+                        (System.nanoTime() - start) / 1e9, search.nodes(), saved);
+            } catch (IOException e) {
+                System.err.println("Checkpoint failed: " + e.getMessage());
+            }
+        }, checkpointSeconds, checkpointSeconds, TimeUnit.SECONDS);
+
+        long total = search.solve();
+        checkpointer.shutdownNow();
+        search.checkpoint(checkpoint);
+        DecisionTree tree = search.tree();
+        Path output = DecisionTree.defaultPath(space);
+        tree.save(output);
+        System.out.printf("%s: %d total guesses, %.4f expected, %d nodes in %.1fs%n", space, total,
+                (double) total / space.size(), search.nodes(), (System.nanoTime() - start) / 1e9);
+        System.out.println("Strategy with " + tree.size() + " decisions written to " + output);
+    }
+}
@@ -0,0 +1,119 @@
+package mastermind.solver;
+
+import mastermind.engine.BatchScorer;
+import mastermind.engine.Scorer;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+final class Partitioner {
+    private static final long SEQUENTIAL_WORK = 1 << 16;
+
+    private final long[] guesses;
+    private final int length;
+    private final int slots;
+    private final boolean parallel;
+
+    Partitioner(long[] guesses, int length) {
+        this(guesses, length, true);
+    }
+
+    // A sequential partitioner never touches the common pool, for callers that already keep every core busy.
+    Partitioner(long[] guesses, int length, boolean parallel) {
+        this.guesses = guesses;
+        this.length = length;
+        this.slots = Scorer.slots(length);
+        this.parallel = parallel;
+    }
+
+    record Choice(int guess, double cost, boolean candidate) {
+        boolean betterThan(Choice other) {
+            return other == null || better(guess, cost, candidate, other.guess, other.cost, other.candidate);
+        }
+    }
+
+    // Lower cost first, then guesses that could be the secret, then the lower index.
+    private static boolean better(int guess, double cost, boolean candidate,
+                                  int otherGuess, double otherCost, boolean otherCandidate) {
+        if (cost != otherCost) {
+            return cost < otherCost;
+        }
+        if (candidate != otherCandidate) {
+            return candidate;
+        }
+        return guess < otherGuess;
+    }
+
+    Choice best(Strategy strategy, long[] candidates, long[] candidateHistograms, int count, long[] candidateMask) {
+        Search search = new Search(strategy, candidates, candidateHistograms, count, candidateMask, 0, guesses.length);
+        if (!parallel) {
+            return search.scan();
+        }
+        if ((long) guesses.length * count <= SEQUENTIAL_WORK) {
+            return search.compute();
+        }
+        return ForkJoinPool.commonPool().invoke(search);
+    }
+
+    // Tasks are never serialized; RecursiveTask is Serializable only by inheritance.
+    @SuppressWarnings("serial")
+    private final class Search extends RecursiveTask<Choice> {
+        private final Strategy strategy;
+        private final long[] candidates;
+        private final long[] candidateHistograms;
+        private final int count;
+        private final long[] candidateMask;
+        private final int from;
+        private final int to;
+
+        Search(Strategy strategy, long[] candidates, long[] candidateHistograms, int count, long[] candidateMask,
+               int from, int to) {
+            this.strategy = strategy;
+            this.candidates = candidates;
+            this.candidateHistograms = candidateHistograms;
+            this.count = count;
+            this.candidateMask = candidateMask;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Choice compute() {
+            if (to - from > 1 && (long) (to - from) * count > SEQUENTIAL_WORK) {
+                int mid = (from + to) >>> 1;
+                Search left = new Search(strategy, candidates, candidateHistograms, count, candidateMask, from, mid);
+                Search right = new Search(strategy, candidates, candidateHistograms, count, candidateMask, mid, to);
+                left.fork();
+                Choice rightBest = right.compute();
+                Choice leftBest = left.join();
+                return leftBest.betterThan(rightBest) ? leftBest : rightBest;
+            }
+            return scan();
+        }
+
+        // Only the winner of the range is boxed into a Choice.
+        Choice scan() {
+            int[] partitions = new int[slots];
+            int[] feedback = new int[count];
+            int bestGuess = -1;
+            double bestCost = 0;
+            boolean bestCandidate = false;
+            for (int g = from; g < to; g++) {
+                BatchScorer.score(guesses[g], length, candidates, candidateHistograms, count, feedback);
+                for (int c = 0; c < count; c++) {
+                    partitions[feedback[c]]++;
+                }
+                double cost = strategy.cost(partitions, count);
+                boolean candidate = (candidateMask[g >>> 6] & (1L << g)) != 0;
+                if (bestGuess < 0 || better(g, cost, candidate, bestGuess, bestCost, bestCandidate)) {
+                    bestGuess = g;
+                    bestCost = cost;
+                    bestCandidate = candidate;
+                }
+                Arrays.fill(partitions, 0);
+            }
+            return bestGuess < 0 ? null : new Choice(bestGuess, bestCost, bestCandidate);
+        }
+    }
+}
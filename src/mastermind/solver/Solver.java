@@ -0,0 +1,123 @@
+package mastermind.solver;
+
+import mastermind.engine.BatchScorer;
+import mastermind.engine.CodeSpace;
+import mastermind.engine.PackedCode;
+import mastermind.engine.Scorer;
+
+import java.util.Arrays;
+
+public final class Solver implements Guesser {
+    private final CodeSpace space;
+    private final Strategy strategy;
+    private final Partitioner partitioner;
+    private final long[] candidates;
+    private final long[] candidateHistograms;
+    private final long[] candidateMask;
+    private int remaining;
+    private int moves;
+    private long lastMoveNanos;
+    private long totalMoveNanos;
+
+    public Solver(CodeSpace space, Strategy strategy) {
+        this(space, strategy, true);
+    }
+
+    // Solvers run one per worker thread, as in a simulation, should not also fan out into the common pool.
+    public Solver(CodeSpace space, Strategy strategy, boolean parallel) {
+        this.space = space;
+        this.strategy = strategy;
+        this.partitioner = new Partitioner(space.codes(), space.length(), parallel);
+        this.candidates = new long[space.size()];
+        this.candidateHistograms = new long[space.size()];
+        this.candidateMask = new long[(space.size() + 63) >>> 6];
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        System.arraycopy(space.codes(), 0, candidates, 0, candidates.length);
+        System.arraycopy(space.histograms(), 0, candidateHistograms, 0, candidateHistograms.length);
+        Arrays.fill(candidateMask, -1L);
+        remaining = candidates.length;
+        moves = 0;
+        lastMoveNanos = 0;
+        totalMoveNanos = 0;
+    }
+
+    @Override
+    public long nextGuess() {
+        long start = System.nanoTime();
+        long guess;
+        if (remaining == 0) {
+            throw new IllegalStateException("No code is consistent with the feedback given");
+        } else if (remaining <= 2) {
+            guess = candidates[0];
+        } else {
+            Partitioner.Choice choice = partitioner.best(strategy, candidates, candidateHistograms, remaining, candidateMask);
+            guess = space.codes()[choice.guess()];
+        }
+        lastMoveNanos = System.nanoTime() - start;
+        totalMoveNanos += lastMoveNanos;
+        moves++;
+        return guess;
+    }
+
+    @Override
+    public void onFeedback(long guess, int feedback) {
+        int length = space.length();
+        long guessHistogram = PackedCode.histogram(guess, length);
+        int kept = 0;
+        for (int i = 0; i < remaining; i++) {
+            long candidate = candidates[i];
+            long histogram = candidateHistograms[i];
+            if (Scorer.score(candidate, histogram, guess, guessHistogram, length) == feedback) {
+                candidates[kept] = candidate;
+                candidateHistograms[kept] = histogram;
+                kept++;
+            } else {
+                int ordinal = space.ordinal(candidate);
+                candidateMask[ordinal >>> 6] &= ~(1L << ordinal);
+            }
+        }
+        remaining = kept;
+    }
+
+    public void onFeedback(long guess, int[] feedback) {
+        onFeedback(guess, Scorer.feedback(feedback[0], feedback[1]));
+    }
+
+    int[] partition(long guess) {
+        int[] feedback = new int[remaining];
+        BatchScorer.score(guess, space.length(), candidates, candidateHistograms, remaining, feedback);
+        int[] partitions = new int[Scorer.slots(space.length())];
+        for (int i = 0; i < remaining; i++) {
+            partitions[feedback[i]]++;
+        }
+        return partitions;
+    }
+
+    public CodeSpace space() {
+        return space;
+    }
+
+    public Strategy strategy() {
+        return strategy;
+    }
+
+    public int remaining() {
+        return remaining;
+    }
+
+    public int moves() {
+        return moves;
+    }
+
+    public long lastMoveNanos() {
+        return lastMoveNanos;
+    }
+
+    public long totalMoveNanos() {
+        return totalMoveNanos;
+    }
+}
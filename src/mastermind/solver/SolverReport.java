@@ -0,0 +1,71 @@
+package mastermind.solver;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.Scorer;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+public final class SolverReport {
+    private SolverReport() {
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        CodeSpace[] spaces = {
+                CodeSpace.of(4, false, false),
+                new CodeSpace(5, "12345678"),
+                CodeSpace.of(4, true, true)
+        };
+        CodeSpace[] largeSpaces = {
+                CodeSpace.of(6, 10),
+                CodeSpace.of(8, 12)
+        };
+
+        System.out.printf("%-24s %-24s %6s %8s %6s %12s %12s %12s%n",
+                "config", "solver", "games", "avg", "max", "first ms", "mean ms", "max ms");
+        for (CodeSpace space : spaces) {
+            for (Strategy strategy : Strategy.values()) {
+                report(space, strategy.name(), () -> new Solver(space, strategy), games, seed);
+            }
+        }
+        for (CodeSpace space : largeSpaces) {
+            report(space, "SYMMETRIC " + Strategy.MINIMAX, () -> new SymmetricSolver(space, Strategy.MINIMAX), games, seed);
+        }
+    }
+
+    private static void report(CodeSpace space, String label, Supplier<Guesser> solvers, int games, long seed) {
+        Guesser solver = solvers.get();
+        SplittableRandom random = new SplittableRandom(seed);
+        long totalGuesses = 0;
+        int maxGuesses = 0;
+        long firstMoveNanos = 0;
+        long totalNanos = 0;
+        long maxMoveNanos = 0;
+        for (int game = 0; game < games; game++) {
+            long secret = space.code(random.nextInt(space.size()));
+            solver.reset();
+            int guesses = 0;
+            int feedback;
+            do {
+                long start = System.nanoTime();
+                long guess = solver.nextGuess();
+                long moveNanos = System.nanoTime() - start;
+                guesses++;
+                if (guesses == 1) {
+                    firstMoveNanos += moveNanos;
+                }
+                totalNanos += moveNanos;
+                maxMoveNanos = Math.max(maxMoveNanos, moveNanos);
+                feedback = Scorer.score(secret, guess, space.length());
+                solver.onFeedback(guess, feedback);
+            } while (feedback != Scorer.solved(space.length()));
+            totalGuesses += guesses;
+            maxGuesses = Math.max(maxGuesses, guesses);
+        }
+        System.out.printf("%-24s %-24s %6d %8.3f %6d %12.3f %12.3f %12.3f%n",
+                space, label, games, (double) totalGuesses / games, maxGuesses,
+                firstMoveNanos / 1e6 / games, totalNanos / 1e6 / totalGuesses, maxMoveNanos / 1e6);
+    }
+}
@@ -0,0 +1,38 @@
+package mastermind.solver;
+
+public enum Strategy {
+    MINIMAX {
+        @Override
+        double cost(int[] partitions, int total) {
+            int largest = 0;
+            for (int size : partitions) {
+                largest = Math.max(largest, size);
+            }
+            return largest;
+        }
+    },
+    ENTROPY {
+        @Override
+        double cost(int[] partitions, int total) {
+            double weighted = 0;
+            for (int size : partitions) {
+                if (size > 1) {
+                    weighted += size * Math.log(size);
+                }
+            }
+            return weighted;
+        }
+    },
+    EXPECTED_SIZE {
+        @Override
+        double cost(int[] partitions, int total) {
+            long squares = 0;
+            for (int size : partitions) {
+                squares += (long) size * size;
+            }
+            return (double) squares / total;
+        }
+    };
+
+    abstract double cost(int[] partitions, int total);
+}
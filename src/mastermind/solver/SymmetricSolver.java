@@ -0,0 +1,226 @@
+package mastermind.solver;
+
+import mastermind.engine.CandidateTracker;
+import mastermind.engine.CodeGenerator;
+import mastermind.engine.CodeSpace;
+import mastermind.engine.PackedCode;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Solver for configurations too large to partition exhaustively. Guesses that differ only by a relabelling of
+ * symbols not yet played, or (on the first move) by any permutation of symbols and positions, split the candidates
+ * identically, so only one canonical representative of each class is scored. When the candidates or the canonical
+ * guess pool exceed the configured limits, both are sampled uniformly.
+ */
+public final class SymmetricSolver implements Guesser {
+    public static final int DEFAULT_SAMPLE_LIMIT = 20_000;
+    public static final int DEFAULT_POOL_LIMIT = 2_000;
+
+    private final CodeSpace space;
+    private final Strategy strategy;
+    private final int sampleLimit;
+    private final int poolLimit;
+    private final long seed;
+    private final boolean parallel;
+    private final CandidateTracker candidates;
+    private final long[] openingGuesses;
+    private SplittableRandom random;
+    private int usedSymbols;
+    private int moves;
+    private long lastMoveNanos;
+
+    public SymmetricSolver(CodeSpace space, Strategy strategy) {
+        this(space, strategy, true);
+    }
+
+    // Callers that already keep every core busy pass parallel = false, as with Solver.
+    public SymmetricSolver(CodeSpace space, Strategy strategy, boolean parallel) {
+        this(space, strategy, DEFAULT_SAMPLE_LIMIT, DEFAULT_POOL_LIMIT, 42L, parallel);
+    }
+
+    public SymmetricSolver(CodeSpace space, Strategy strategy, int sampleLimit, int poolLimit, long seed,
+                           boolean parallel) {
+        this.space = space;
+        this.strategy = strategy;
+        this.sampleLimit = sampleLimit;
+        this.poolLimit = poolLimit;
+        this.seed = seed;
+        this.parallel = parallel;
+        this.candidates = new CandidateTracker(space);
+        this.openingGuesses = shapes(space.length(), space.symbolCount());
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        candidates.reset();
+        random = new SplittableRandom(seed);
+        usedSymbols = 0;
+        moves = 0;
+        lastMoveNanos = 0;
+    }
+
+    @Override
+    public long nextGuess() {
+        long start = System.nanoTime();
+        int remaining = candidates.remaining();
+        long guess;
+        if (remaining == 0) {
+            throw new IllegalStateException("No code is consistent with the feedback given");
+        } else if (remaining <= 2) {
+            guess = space.code(candidates.nextCandidate(0));
+        } else {
+            long[] sample = moves == 0 ? firstMoveSample() : sampleCandidates(sampleLimit);
+            long[] pool = moves == 0 ? openingGuesses : canonicalPool();
+            guess = pool[best(pool, sample)];
+        }
+        moves++;
+        lastMoveNanos = System.nanoTime() - start;
+        return guess;
+    }
+
+    @Override
+    public void onFeedback(long guess, int feedback) {
+        candidates.narrow(guess, feedback);
+        for (int i = 0; i < space.length(); i++) {
+            usedSymbols |= 1 << PackedCode.peg(guess, i);
+        }
+    }
+
+    public int remaining() {
+        return candidates.remaining();
+    }
+
+    public int moves() {
+        return moves;
+    }
+
+    public long lastMoveNanos() {
+        return lastMoveNanos;
+    }
+
+    private int best(long[] pool, long[] sample) {
+        int length = space.length();
+        long[] sampleHistograms = histograms(sample, length);
+        long[] allCandidates = new long[(pool.length + 63) >>> 6];
+        Arrays.fill(allCandidates, -1L);
+        Partitioner partitioner = new Partitioner(pool, length, parallel);
+        return partitioner.best(strategy, sample, sampleHistograms, sample.length, allCandidates).guess();
+    }
+
+    private long[] firstMoveSample() {
+        if (space.size() <= sampleLimit) {
+            return space.codes().clone();
+        }
+        CodeGenerator generator = new CodeGenerator(space, random.nextLong());
+        return generator.generate(sampleLimit);
+    }
+
+    private long[] sampleCandidates(int limit) {
+        int remaining = candidates.remaining();
+        long[] sample = new long[Math.min(remaining, limit)];
+        int taken = 0;
+        int seen = 0;
+        for (int o = candidates.nextCandidate(0); o >= 0 && taken < sample.length; o = candidates.nextCandidate(o + 1)) {
+            if (random.nextInt(remaining - seen) < sample.length - taken) {
+                sample[taken++] = space.code(o);
+            }
+            seen++;
+        }
+        return sample;
+    }
+
+    private long[] canonicalPool() {
+        long[] pool = sampleCandidates(Math.max(poolLimit, 1));
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = canonical(pool[i], usedSymbols, space.length());
+        }
+        Arrays.sort(pool);
+        int distinct = 0;
+        for (int i = 0; i < pool.length; i++) {
+            if (i == 0 || pool[i] != pool[i - 1]) {
+                pool[distinct++] = pool[i];
+            }
+        }
+        return Arrays.copyOf(pool, distinct);
+    }
+
+    // Relabels symbols outside usedSymbols to the smallest unused symbols, in order of first appearance.
+    static long canonical(long code, int usedSymbols, int length) {
+        long result = code;
+        long mapping = 0;
+        int assigned = 0;
+        int cursor = 0;
+        for (int i = 0; i < length; i++) {
+            int symbol = PackedCode.peg(code, i);
+            if ((usedSymbols & (1 << symbol)) != 0) {
+                continue;
+            }
+            if ((assigned & (1 << symbol)) == 0) {
+                while ((usedSymbols & (1 << cursor)) != 0) {
+                    cursor++;
+                }
+                mapping |= (long) cursor << (symbol * PackedCode.BITS_PER_PEG);
+                assigned |= 1 << symbol;
+                cursor++;
+            }
+            result = PackedCode.withPeg(result, i, (int) ((mapping >>> (symbol * PackedCode.BITS_PER_PEG)) & 0xF));
+        }
+        return result;
+    }
+
+    // One code per multiset of symbol multiplicities: every first guess is equivalent to exactly one of these.
+    static long[] shapes(int length, int symbolCount) {
+        long[] shapes = new long[partitions(length, length, symbolCount)];
+        int[] parts = new int[length];
+        int[] count = new int[1];
+        collectShapes(length, length, 0, symbolCount, parts, shapes, count);
+        return shapes;
+    }
+
+    private static int partitions(int remaining, int maxPart, int maxParts) {
+        if (remaining == 0) {
+            return 1;
+        }
+        if (maxParts == 0) {
+            return 0;
+        }
+        int total = 0;
+        for (int part = Math.min(remaining, maxPart); part >= 1; part--) {
+            total += partitions(remaining - part, part, maxParts - 1);
+        }
+        return total;
+    }
+
+    private static void collectShapes(int remaining, int maxPart, int depth, int maxParts, int[] parts,
+                                      long[] shapes, int[] count) {
+        if (remaining == 0) {
+            long code = 0;
+            int position = 0;
+            for (int symbol = 0; symbol < depth; symbol++) {
+                for (int k = 0; k < parts[symbol]; k++) {
+                    code = PackedCode.withPeg(code, position++, symbol);
+                }
+            }
+            shapes[count[0]++] = code;
+            return;
+        }
+        if (depth == maxParts) {
+            return;
+        }
+        for (int part = Math.min(remaining, maxPart); part >= 1; part--) {
+            parts[depth] = part;
+            collectShapes(remaining - part, part, depth + 1, maxParts, parts, shapes, count);
+        }
+    }
+
+    private static long[] histograms(long[] codes, int length) {
+        long[] histograms = new long[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            histograms[i] = PackedCode.histogram(codes[i], length);
+        }
+        return histograms;
+    }
+}
@@ -0,0 +1,31 @@
+package mastermind.solver;
+
+public final class TreeGuesser implements Guesser {
+    private final DecisionTree tree;
+    private final Guesser fallback;
+    private long history;
+
+    public TreeGuesser(DecisionTree tree, Guesser fallback) {
+        this.tree = tree;
+        this.fallback = fallback;
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        fallback.reset();
+        history = OpeningBook.ROOT;
+    }
+
+    @Override
+    public long nextGuess() {
+        long guess = tree.guess(history);
+        return guess == OpeningBook.MISSING ? fallback.nextGuess() : guess;
+    }
+
+    @Override
+    public void onFeedback(long guess, int feedback) {
+        fallback.onFeedback(guess, feedback);
+        history = OpeningBook.extend(history, feedback, tree.space().length());
+    }
+}
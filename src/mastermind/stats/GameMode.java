@@ -0,0 +1,32 @@
+package mastermind.stats;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.PackedCode;
+
+public enum GameMode {
+    NUMBERS,
+    COLORS,
+    MIXED,
+    CUSTOM;
+
+    private static final int STANDARD_LENGTH = 4;
+
+    // Only the three menu modes are ranked separately; any other length or alphabet counts as custom.
+    public static GameMode of(CodeSpace space) {
+        if (space.length() != STANDARD_LENGTH) {
+            return CUSTOM;
+        }
+        String symbols = space.symbols();
+        if (symbols.equals(PackedCode.NUMBER_SYMBOLS)) {
+            return NUMBERS;
+        }
+        if (symbols.equals(PackedCode.COLOR_SYMBOLS)) {
+            return COLORS;
+        }
+        return symbols.equals(PackedCode.MIXED_SYMBOLS) ? MIXED : CUSTOM;
+    }
+
+    public String label() {
+        return name().toLowerCase();
+    }
+}
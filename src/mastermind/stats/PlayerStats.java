@@ -0,0 +1,25 @@
+package mastermind.stats;
+
+public record PlayerStats(String player, GameMode mode, int games, int wins, int currentStreak, int bestStreak,
+                          long bestMillis, int[] attemptsToSolve) {
+    public static final long NO_TIME = Long.MAX_VALUE;
+
+    public int losses() {
+        return games - wins;
+    }
+
+    public double averageAttempts() {
+        long total = 0;
+        for (int attempts = 1; attempts < attemptsToSolve.length; attempts++) {
+            total += (long) attempts * attemptsToSolve[attempts];
+        }
+        return wins == 0 ? 0 : (double) total / wins;
+    }
+
+    @Override
+    public String toString() {
+        String best = bestMillis == NO_TIME ? "-" : String.format("%.1fs", bestMillis / 1000.0);
+        return String.format("%s (%s): %d wins / %d games, avg %.2f attempts, streak %d (best %d), best time %s",
+                player, mode.label(), wins, games, averageAttempts(), currentStreak, bestStreak, best);
+    }
+}
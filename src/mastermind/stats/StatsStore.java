@@ -0,0 +1,318 @@
+package mastermind.stats;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-player, per-mode outcome statistics. Records live in parallel primitive arrays indexed by a slot found through
+ * a {@link LongIntMap} keyed by player id and mode, and each mode keeps sorted top-K indexes by wins and by fastest
+ * solve, so leaderboard queries never scan players. The whole store is snapshotted to a compact binary file
+ * periodically when it has changed, and on close.
+ */
+public final class StatsStore implements AutoCloseable {
+    public static final int LEADERBOARD_SIZE = 100;
+
+    private static final int MAGIC = 0x4D4D5053;
+    private static final int VERSION = 1;
+    private static final int ATTEMPT_BUCKETS = 32;
+    private static final int MODES = GameMode.values().length;
+
+    private final Path path;
+    private final Map<String, Integer> playerIds = new HashMap<>();
+    private final List<String> players = new ArrayList<>();
+    private final LongIntMap slots = new LongIntMap(64);
+    private final TopK[] mostWins = new TopK[MODES];
+    private final TopK[] fastest = new TopK[MODES];
+    private final ScheduledExecutorService snapshotter;
+    private int size;
+    private int[] playerOf = new int[16];
+    private byte[] modeOf = new byte[16];
+    private int[] games = new int[16];
+    private int[] wins = new int[16];
+    private int[] streaks = new int[16];
+    private int[] bestStreaks = new int[16];
+    private long[] bestMillis = new long[16];
+    private int[] attempts = new int[16 * ATTEMPT_BUCKETS];
+    private long changes;
+    private long savedChanges;
+
+    private StatsStore(Path path, long snapshotSeconds) {
+        this.path = path;
+        for (int mode = 0; mode < MODES; mode++) {
+            mostWins[mode] = new TopK(LEADERBOARD_SIZE);
+            fastest[mode] = new TopK(LEADERBOARD_SIZE);
+        }
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "stats-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (snapshotSeconds > 0) {
+            snapshotter.scheduleAtFixedRate(this::trySnapshot, snapshotSeconds, snapshotSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public static Path defaultPath() {
+        String configured = System.getProperty("mastermind.stats");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".mastermind", "players.stats");
+    }
+
+    // A missing or unreadable snapshot starts an empty store rather than keeping the player out of the game.
+    public static StatsStore open(Path path, long snapshotSeconds) {
+        StatsStore store = new StatsStore(path, snapshotSeconds);
+        if (Files.isRegularFile(path)) {
+            try {
+                store.load();
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Starting with empty player statistics, could not read " + path + ": "
+                        + e.getMessage());
+                store.snapshotter.shutdownNow();
+                store = new StatsStore(path, snapshotSeconds);
+            }
+        }
+        return store;
+    }
+
+    public synchronized PlayerStats record(String player, GameMode mode, boolean won, int attemptsUsed,
+                                           long elapsedMillis) {
+        int slot = slot(player, mode);
+        games[slot]++;
+        if (won) {
+            wins[slot]++;
+            streaks[slot]++;
+            bestStreaks[slot] = Math.max(bestStreaks[slot], streaks[slot]);
+            attempts[slot * ATTEMPT_BUCKETS + Math.min(attemptsUsed, ATTEMPT_BUCKETS - 1)]++;
+            mostWins[mode.ordinal()].update(slot, Integer.MAX_VALUE - wins[slot]);
+            if (elapsedMillis < bestMillis[slot]) {
+                bestMillis[slot] = elapsedMillis;
+                fastest[mode.ordinal()].update(slot, (int) Math.min(elapsedMillis, Integer.MAX_VALUE));
+            }
+        } else {
+            streaks[slot] = 0;
+        }
+        changes++;
+        return stats(slot);
+    }
+
+    public synchronized PlayerStats get(String player, GameMode mode) {
+        Integer id = playerIds.get(player);
+        int slot = id == null ? LongIntMap.MISSING : slots.get(key(id, mode));
+        if (slot == LongIntMap.MISSING) {
+            return new PlayerStats(player, mode, 0, 0, 0, 0, PlayerStats.NO_TIME, new int[ATTEMPT_BUCKETS]);
+        }
+        return stats(slot);
+    }
+
+    public synchronized List<PlayerStats> mostWins(GameMode mode, int k) {
+        return leaderboard(mostWins[mode.ordinal()], k);
+    }
+
+    public synchronized List<PlayerStats> fastest(GameMode mode, int k) {
+        return leaderboard(fastest[mode.ordinal()], k);
+    }
+
+    public String summary(String player, GameMode mode, int k) {
+        StringBuilder text = new StringBuilder(get(player, mode).toString()).append(System.lineSeparator());
+        List<PlayerStats> leaders = fastest(mode, k);
+        if (!leaders.isEmpty()) {
+            text.append("Fastest ").append(mode.label()).append(" solves:").append(System.lineSeparator());
+            for (int i = 0; i < leaders.size(); i++) {
+                PlayerStats leader = leaders.get(i);
+                text.append(String.format("%3d. %-20s %8.1fs%n", i + 1, leader.player(), leader.bestMillis() / 1000.0));
+            }
+        }
+        return text.toString();
+    }
+
+    private List<PlayerStats> leaderboard(TopK index, int k) {
+        int[] ranked = index.slots(k);
+        List<PlayerStats> leaders = new ArrayList<>(ranked.length);
+        for (int slot : ranked) {
+            leaders.add(stats(slot));
+        }
+        return leaders;
+    }
+
+    private PlayerStats stats(int slot) {
+        int from = slot * ATTEMPT_BUCKETS;
+        return new PlayerStats(players.get(playerOf[slot]), GameMode.values()[modeOf[slot]], games[slot], wins[slot],
+                streaks[slot], bestStreaks[slot], bestMillis[slot],
+                Arrays.copyOfRange(attempts, from, from + ATTEMPT_BUCKETS));
+    }
+
+    private int slot(String player, GameMode mode) {
+        Integer id = playerIds.get(player);
+        if (id == null) {
+            id = players.size();
+            players.add(player);
+            playerIds.put(player, id);
+        }
+        long key = key(id, mode);
+        int slot = slots.get(key);
+        if (slot == LongIntMap.MISSING) {
+            slot = allocate(id, mode);
+            slots.put(key, slot);
+        }
+        return slot;
+    }
+
+    private int allocate(int player, GameMode mode) {
+        if (size == games.length) {
+            int capacity = size * 2;
+            playerOf = Arrays.copyOf(playerOf, capacity);
+            modeOf = Arrays.copyOf(modeOf, capacity);
+            games = Arrays.copyOf(games, capacity);
+            wins = Arrays.copyOf(wins, capacity);
+            streaks = Arrays.copyOf(streaks, capacity);
+            bestStreaks = Arrays.copyOf(bestStreaks, capacity);
+            bestMillis = Arrays.copyOf(bestMillis, capacity);
+            attempts = Arrays.copyOf(attempts, capacity * ATTEMPT_BUCKETS);
+        }
+        int slot = size++;
+        playerOf[slot] = player;
+        modeOf[slot] = (byte) mode.ordinal();
+        bestMillis[slot] = PlayerStats.NO_TIME;
+        return slot;
+    }
+
+    private static long key(int player, GameMode mode) {
+        return ((long) player << 8) | mode.ordinal();
+    }
+
+    private void trySnapshot() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            System.err.println("Could not snapshot player statistics to " + path + ": " + e.getMessage());
+        }
+    }
+
+    // Serializes under the lock into memory, then writes the file without blocking players.
+    public void snapshot() throws IOException {
+        byte[] bytes;
+        long version;
+        synchronized (this) {
+            if (changes == savedChanges) {
+                return;
+            }
+            version = changes;
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + size * 48);
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(players.size());
+            for (String player : players) {
+                out.writeUTF(player);
+            }
+            out.writeInt(size);
+            for (int slot = 0; slot < size; slot++) {
+                out.writeInt(playerOf[slot]);
+                out.writeByte(modeOf[slot]);
+                out.writeInt(games[slot]);
+                out.writeInt(wins[slot]);
+                out.writeInt(streaks[slot]);
+                out.writeInt(bestStreaks[slot]);
+                out.writeLong(bestMillis[slot]);
+                int buckets = ATTEMPT_BUCKETS;
+                while (buckets > 0 && attempts[slot * ATTEMPT_BUCKETS + buckets - 1] == 0) {
+                    buckets--;
+                }
+                out.writeByte(buckets);
+                for (int i = 0; i < buckets; i++) {
+                    out.writeInt(attempts[slot * ATTEMPT_BUCKETS + i]);
+                }
+            }
+            bytes = buffer.toByteArray();
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, bytes);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (this) {
+            savedChanges = Math.max(savedChanges, version);
+        }
+    }
+
+    private synchronized void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalArgumentException("Not a player statistics snapshot");
+            }
+            int playerCount = in.readInt();
+            for (int i = 0; i < playerCount; i++) {
+                String player = in.readUTF();
+                playerIds.put(player, i);
+                players.add(player);
+            }
+            int slotCount = in.readInt();
+            for (int i = 0; i < slotCount; i++) {
+                int player = in.readInt();
+                int modeOrdinal = in.readUnsignedByte();
+                if (player < 0 || player >= playerCount || modeOrdinal >= MODES) {
+                    throw new IllegalArgumentException("Corrupt player statistics record " + i);
+                }
+                GameMode mode = GameMode.values()[modeOrdinal];
+                int slot = allocate(player, mode);
+                slots.put(key(player, mode), slot);
+                games[slot] = in.readInt();
+                wins[slot] = in.readInt();
+                streaks[slot] = in.readInt();
+                bestStreaks[slot] = in.readInt();
+                bestMillis[slot] = in.readLong();
+                int buckets = in.readUnsignedByte();
+                if (buckets > ATTEMPT_BUCKETS) {
+                    throw new IllegalArgumentException("Corrupt player statistics record " + i);
+                }
+                for (int b = 0; b < buckets; b++) {
+                    attempts[slot * ATTEMPT_BUCKETS + b] = in.readInt();
+                }
+                if (wins[slot] > 0) {
+                    mostWins[mode.ordinal()].update(slot, Integer.MAX_VALUE - wins[slot]);
+                }
+                if (bestMillis[slot] != PlayerStats.NO_TIME) {
+                    fastest[mode.ordinal()].update(slot, (int) Math.min(bestMillis[slot], Integer.MAX_VALUE));
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        // A periodic snapshot may be mid-write; it finishes before the final one, and is not interrupted into failing.
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        trySnapshot();
+    }
+}
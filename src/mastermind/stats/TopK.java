@@ -0,0 +1,42 @@
+package mastermind.stats;
+
+import java.util.Arrays;
+
+// Best `capacity` entries by ascending score. Scores only ever improve, so an entry that drops out never has to come
+// back unless it is updated again.
+final class TopK {
+    private final long[] entries;
+    private int size;
+
+    TopK(int capacity) {
+        this.entries = new long[capacity];
+    }
+
+    void update(int slot, int score) {
+        for (int i = 0; i < size; i++) {
+            if ((int) entries[i] == slot) {
+                System.arraycopy(entries, i + 1, entries, i, size - i - 1);
+                size--;
+                break;
+            }
+        }
+        long entry = ((long) score << 32) | slot;
+        if (size == entries.length && entry >= entries[size - 1]) {
+            return;
+        }
+        int at = Arrays.binarySearch(entries, 0, size, entry);
+        at = at < 0 ? -at - 1 : at;
+        int moved = Math.min(size, entries.length - 1) - at;
+        System.arraycopy(entries, at, entries, at + 1, moved);
+        entries[at] = entry;
+        size = Math.min(size + 1, entries.length);
+    }
+
+    int[] slots(int k) {
+        int[] slots = new int[Math.min(k, size)];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = (int) entries[i];
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,83 @@
+import mastermind.engine.CodeSpace;
+import mastermind.engine.PackedCode;
+import mastermind.engine.Scorer;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The packed scorer must agree with the string-array scoring the game started with, in every symbol set.
+class ScorerEquivalenceTest {
+    private static final int RANDOM_PAIRS = 2_000_000;
+
+    @Test
+    void numbersExhaustive() {
+        exhaustive(CodeSpace.of(4, false, false));
+    }
+
+    @Test
+    void colorsExhaustive() {
+        exhaustive(CodeSpace.of(4, true, false));
+    }
+
+    @Test
+    void mixedExhaustive() {
+        exhaustive(CodeSpace.of(3, true, true));
+    }
+
+    @Test
+    void genericExhaustive() {
+        exhaustive(CodeSpace.of(2, 16));
+    }
+
+    @Test
+    void randomAtEveryLength() {
+        SplittableRandom random = new SplittableRandom(42);
+        // Most long codes have spaces too large to enumerate; the string scoring ignores the game's own space.
+        MastermindGame game = new MastermindGame(CodeSpace.of(4, false, false), 10);
+        String[] symbolSets = {PackedCode.NUMBER_SYMBOLS, PackedCode.COLOR_SYMBOLS, PackedCode.MIXED_SYMBOLS,
+                PackedCode.GENERIC_SYMBOLS};
+        for (int i = 0; i < RANDOM_PAIRS; i++) {
+            int length = 1 + random.nextInt(PackedCode.MAX_LENGTH);
+            String symbols = symbolSets[random.nextInt(symbolSets.length)];
+            if (symbols == PackedCode.GENERIC_SYMBOLS) {
+                symbols = symbols.substring(0, 1 + random.nextInt(symbols.length()));
+            }
+            long secret = randomCode(random, length, symbols.length());
+            long guess = randomCode(random, length, symbols.length());
+            assertSameFeedback(game, secret, guess, length, symbols);
+        }
+    }
+
+    private static void exhaustive(CodeSpace space) {
+        MastermindGame game = new MastermindGame(space, 10);
+        long[] codes = space.codes();
+        for (long secret : codes) {
+            for (long guess : codes) {
+                assertSameFeedback(game, secret, guess, space.length(), space.symbols());
+                assertEquals(Scorer.score(secret, guess, space.length()), game.checkGuess(secret, guess));
+            }
+        }
+    }
+
+    private static long randomCode(SplittableRandom random, int length, int symbolCount) {
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            code = PackedCode.withPeg(code, i, random.nextInt(symbolCount));
+        }
+        return code;
+    }
+
+    private static void assertSameFeedback(MastermindGame game, long secret, long guess, int length,
+                                           String symbols) {
+        int[] expected = game.checkGuess(PackedCode.decode(secret, length, symbols),
+                PackedCode.decode(guess, length, symbols));
+        int feedback = Scorer.score(secret, guess, length);
+        if (Scorer.black(feedback) != expected[0] || Scorer.white(feedback) != expected[1]) {
+            assertEquals(expected[0] + "B" + expected[1] + "W",
+                    Scorer.black(feedback) + "B" + Scorer.white(feedback) + "W",
+                    PackedCode.toString(secret, length, symbols) + " vs " + PackedCode.toString(guess, length, symbols));
+        }
+    }
+}
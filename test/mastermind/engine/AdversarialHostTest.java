@@ -0,0 +1,64 @@
+package mastermind.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdversarialHostTest {
+    private static final int GAMES = 4;
+    private static final int GUESSES = 8;
+
+    // 5x6 and 4x9 span several chunks, so the first answer is partitioned in parallel and later ones repack.
+    @Test
+    void answersMatchBruteForcePartition() {
+        for (CodeSpace space : new CodeSpace[] {CodeSpace.of(4, 6), CodeSpace.of(5, 6), CodeSpace.of(4, 9)}) {
+            Random random = new Random(space.size());
+            for (int game = 0; game < GAMES; game++) {
+                play(space, random);
+            }
+        }
+    }
+
+    // Random guesses, ending with the representative once few codes are left so the solved class is reached too.
+    private static void play(CodeSpace space, Random random) {
+        AdversarialHost host = new AdversarialHost(space);
+        int length = space.length();
+        List<Long> live = new ArrayList<>();
+        for (long code : space.codes()) {
+            live.add(code);
+        }
+        List<long[]> answers = new ArrayList<>();
+        for (int g = 0; g < GUESSES && !live.isEmpty(); g++) {
+            long guess = live.size() <= 2 ? host.representative() : space.code(random.nextInt(space.size()));
+            int[] classes = new int[Scorer.slots(length)];
+            for (long code : live) {
+                classes[Scorer.score(code, guess, length)]++;
+            }
+            int expected = 0;
+            for (int f = 1; f < classes.length; f++) {
+                if (classes[f] > classes[expected]) {
+                    expected = f;
+                }
+            }
+            int feedback = host.respond(guess);
+            assertEquals(expected, feedback, space + " guess " + space.format(guess));
+            live.removeIf(code -> Scorer.score(code, guess, length) != feedback);
+            answers.add(new long[] {guess, feedback});
+            assertEquals(live.size(), host.remaining());
+
+            long representative = host.representative();
+            assertTrue(live.contains(representative), space.format(representative));
+            for (long[] answer : answers) {
+                assertEquals(answer[1], Scorer.score(representative, answer[0], length));
+            }
+            if (feedback == Scorer.solved(length)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package mastermind.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// Runs twice: once with the vector module and once without it (mastermind.test.scalar), so both paths are checked.
+class BatchScorerTest {
+    // Around every multiple of the widest vector, so each run ends in a different tail.
+    private static final int[] COUNTS = {0, 1, 2, 3, 4, 5, 7, 8, 9, 15, 16, 17, 31, 32, 33, 63, 64, 65, 1000};
+
+    @Test
+    void pathMatchesRuntime() {
+        if (Boolean.getBoolean("mastermind.test.scalar")) {
+            assertFalse(BatchScorer.vectorized());
+        } else if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            assertEquals(VectorScorer.supported(), BatchScorer.vectorized());
+        }
+    }
+
+    @Test
+    void matchesScalarAtEveryLengthAndTail() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int length = 1; length <= PackedCode.MAX_LENGTH; length++) {
+            for (int symbols : new int[]{2, 6, PackedCode.MAX_SYMBOLS}) {
+                for (int count : COUNTS) {
+                    check(random, length, symbols, count);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesScalarOverWholeSpace() {
+        CodeSpace space = CodeSpace.of(4, false, false);
+        long[] codes = space.codes();
+        long[] histograms = space.histograms();
+        int[] feedback = new int[codes.length];
+        for (long guess : codes) {
+            BatchScorer.score(guess, space.length(), codes, histograms, codes.length, feedback);
+            for (int i = 0; i < codes.length; i++) {
+                assertEquals(Scorer.score(codes[i], guess, space.length()), feedback[i]);
+            }
+        }
+    }
+
+    private static void check(SplittableRandom random, int length, int symbols, int count) {
+        long[] secrets = new long[count];
+        long[] histograms = new long[count];
+        int[] expected = new int[count];
+        long guess = randomCode(random, length, symbols);
+        for (int i = 0; i < count; i++) {
+            secrets[i] = randomCode(random, length, symbols);
+            histograms[i] = PackedCode.histogram(secrets[i], length);
+            expected[i] = Scorer.score(secrets[i], guess, length);
+        }
+        // Oversized and pre-filled, so a write past count or a skipped lane shows up.
+        int[] feedback = new int[count + 8];
+        Arrays.fill(feedback, -1);
+        BatchScorer.score(guess, length, Arrays.copyOf(secrets, count + 8),
+                Arrays.copyOf(histograms, count + 8), count, feedback);
+        assertArrayEquals(expected, Arrays.copyOf(feedback, count),
+                "length " + length + ", " + symbols + " symbols, count " + count);
+        for (int i = count; i < feedback.length; i++) {
+            assertEquals(-1, feedback[i], "wrote past count " + count);
+        }
+    }
+
+    private static long randomCode(SplittableRandom random, int length, int symbols) {
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            code = PackedCode.withPeg(code, i, random.nextInt(symbols));
+        }
+        return code;
+    }
+}
@@ -0,0 +1,22 @@
+package mastermind.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CodeSpaceTest {
+    @Test
+    void acceptsCustomAlphabets() {
+        assertEquals(27, new CodeSpace(3, "XYZ").size());
+        assertEquals(PackedCode.MAX_SYMBOLS, new CodeSpace(1, PackedCode.GENERIC_SYMBOLS).size());
+    }
+
+    @Test
+    void rejectsAmbiguousAlphabets() {
+        assertThrows(IllegalArgumentException.class, () -> new CodeSpace(4, "ABCA"));
+        assertThrows(IllegalArgumentException.class, () -> new CodeSpace(4, "AB C"));
+        assertThrows(IllegalArgumentException.class, () -> new CodeSpace(4, "ABÉ"));
+        assertThrows(IllegalArgumentException.class, () -> new CodeSpace(4, ""));
+    }
+}
@@ -0,0 +1,54 @@
+package mastermind.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedbackTableTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrips() throws IOException {
+        CodeSpace space = CodeSpace.of(4, false, false);
+        Path path = dir.resolve("table.tbl");
+        FeedbackTable.build(space).save(path);
+        FeedbackTable table = FeedbackTable.load(path);
+        assertEquals(space, table.space());
+        assertEquals(Scorer.score(space.code(7), space.code(1000), 4), table.score(7, 1000));
+    }
+
+    @Test
+    void rejectsCorruptHeaders() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> FeedbackTable.load(withHeader(0, 6)));
+        assertThrows(IllegalArgumentException.class, () -> FeedbackTable.load(withHeader(4, -1)));
+        assertThrows(IllegalArgumentException.class, () -> FeedbackTable.load(withHeader(4, 1 << 30)));
+        assertThrows(IllegalArgumentException.class, () -> FeedbackTable.load(withHeader(12, 16)));
+        assertThrows(IllegalArgumentException.class, () -> FeedbackTable.load(withHeader(4, 6)));
+    }
+
+    @Test
+    void rebuildsOverCorruptFile() throws IOException {
+        CodeSpace space = CodeSpace.of(4, false, false);
+        Path path = withHeader(4, 1 << 30);
+        FeedbackTable table = FeedbackTable.loadOrBuild(space, path);
+        assertEquals(space, table.space());
+        assertEquals(space, FeedbackTable.load(path).space());
+    }
+
+    // A valid header with no table body after it.
+    private Path withHeader(int length, int symbolCount) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(32);
+        header.putInt(0x4D4D4654).putInt(1).putInt(length).putInt(symbolCount).put("123456".getBytes());
+        Path path = Files.createTempFile(dir, "table", ".tbl");
+        Files.write(path, header.array());
+        return path;
+    }
+}
@@ -0,0 +1,94 @@
+package mastermind.journal;
+
+import mastermind.engine.CodeSpace;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GameJournalTest {
+    private static final int THREADS = 4;
+    private static final int GUESSES = 10_000;
+
+    @TempDir
+    Path dir;
+
+    // Many times the buffer size from several threads, so appends keep crossing buffer hand-overs.
+    @Test
+    void keepsEveryRecordInOrderPerGame() throws Exception {
+        Path path = dir.resolve("games.journal");
+        long[] ids = new long[THREADS];
+        try (GameJournal journal = new GameJournal(path, 1, TimeUnit.MILLISECONDS)) {
+            Thread[] threads = new Thread[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                long id = journal.newGameId();
+                ids[t] = id;
+                threads[t] = new Thread(() -> {
+                    journal.gameCreated(id, CodeSpace.of(4, false, false), 0, GUESSES);
+                    for (int g = 0; g < GUESSES; g++) {
+                        journal.guess(id, g, 0);
+                    }
+                    journal.outcome(id, false, GUESSES);
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        Map<Long, Integer> seen = new HashMap<>();
+        long records = JournalReader.replay(path, new JournalVisitor() {
+            @Override
+            public void gameCreated(long gameId, long timeMillis, CodeSpace space, long secret, int maxAttempts) {
+                assertEquals(null, seen.put(gameId, 0));
+            }
+
+            @Override
+            public void guess(long gameId, long timeMillis, long guess, int feedback) {
+                int next = seen.get(gameId);
+                assertEquals(next, guess);
+                seen.put(gameId, next + 1);
+            }
+
+            @Override
+            public void outcome(long gameId, long timeMillis, boolean won, int attempts, long resolvedSecret) {
+                assertEquals(GUESSES, (int) seen.get(gameId));
+            }
+        });
+        assertEquals((long) THREADS * (GUESSES + 2), records);
+        for (long id : ids) {
+            assertEquals(GUESSES, (int) seen.get(id));
+        }
+    }
+
+    @Test
+    void appendsAfterCloseAreIgnored() throws IOException {
+        Path path = dir.resolve("closed.journal");
+        GameJournal journal = GameJournal.open(path);
+        long id = journal.newGameId();
+        journal.gameCreated(id, CodeSpace.of(4, false, false), 0, 10);
+        journal.close();
+        for (int g = 0; g < 5_000; g++) {
+            journal.guess(id, g, 0);
+        }
+        assertEquals(1, JournalReader.replay(path, new JournalVisitor() {
+            @Override
+            public void gameCreated(long gameId, long timeMillis, CodeSpace space, long secret, int maxAttempts) {
+            }
+
+            @Override
+            public void guess(long gameId, long timeMillis, long guess, int feedback) {
+            }
+
+            @Override
+            public void outcome(long gameId, long timeMillis, boolean won, int attempts, long resolvedSecret) {
+            }
+        }));
+    }
+}
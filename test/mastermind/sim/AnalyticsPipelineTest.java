@@ -0,0 +1,45 @@
+package mastermind.sim;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.Scorer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnalyticsPipelineTest {
+    private static final CodeSpace SPACE = CodeSpace.of(4, 6);
+    private static final int MAX_ATTEMPTS = 10;
+    private static final int GAMES = 10_000;
+
+    // About a dozen batches of games through a short queue, so they are spread over the workers.
+    @Test
+    void workerCountDoesNotChangeTotals() throws InterruptedException {
+        GameAnalytics single = analyze(1);
+        assertEquals(GAMES, single.games());
+        GameAnalyticsTest.assertSame(single, analyze(4));
+    }
+
+    // Random guesses against random secrets, the same games for every call.
+    private static GameAnalytics analyze(int workers) throws InterruptedException {
+        AnalyticsPipeline pipeline = new AnalyticsPipeline(SPACE, MAX_ATTEMPTS, workers, 2);
+        AnalyticsPipeline.Recorder recorder = pipeline.recorder();
+        Random random = new Random(42);
+        int solved = Scorer.solved(SPACE.length());
+        for (int game = 0; game < GAMES; game++) {
+            long secret = SPACE.code(random.nextInt(SPACE.size()));
+            for (int move = 1; move <= MAX_ATTEMPTS; move++) {
+                long guess = move == MAX_ATTEMPTS / 2 ? secret : SPACE.code(random.nextInt(SPACE.size()));
+                int feedback = Scorer.score(secret, guess, SPACE.length());
+                recorder.guess(guess, feedback);
+                if (feedback == solved) {
+                    break;
+                }
+            }
+            recorder.endGame();
+        }
+        recorder.flush();
+        return pipeline.finish();
+    }
+}
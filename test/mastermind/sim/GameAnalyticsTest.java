@@ -0,0 +1,74 @@
+package mastermind.sim;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.Scorer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GameAnalyticsTest {
+    private static final CodeSpace SPACE = CodeSpace.of(4, 6);
+    private static final int MAX_ATTEMPTS = 10;
+
+    // The halves see their openings in opposite orders, so merging has to remap opening rows.
+    @Test
+    void mergeMatchesOnePass() {
+        GameAnalytics all = new GameAnalytics(SPACE.length(), MAX_ATTEMPTS);
+        GameAnalytics first = new GameAnalytics(SPACE.length(), MAX_ATTEMPTS);
+        GameAnalytics second = new GameAnalytics(SPACE.length(), MAX_ATTEMPTS);
+        long[] openings = {SPACE.code(0), SPACE.code(7), SPACE.code(43), SPACE.code(400)};
+        for (int game = 0; game < 40; game++) {
+            GameAnalytics half = game < 20 ? first : second;
+            long opening = openings[game < 20 ? game % 4 : 3 - game % 4];
+            int guesses = 1 + game % MAX_ATTEMPTS;
+            for (int move = 1; move <= guesses; move++) {
+                int feedback = (game * 7 + move) % 15;
+                int remaining = 1296 >> move;
+                all.recordMove(move, feedback, remaining);
+                half.recordMove(move, feedback, remaining);
+            }
+            all.recordGame(opening, 1296 >> 1, game % 3 != 0, guesses);
+            half.recordGame(opening, 1296 >> 1, game % 3 != 0, guesses);
+        }
+        first.merge(second);
+        assertSame(all, first);
+    }
+
+    @Test
+    void percentilesReportBucketUpperBounds() {
+        GameAnalytics analytics = new GameAnalytics(SPACE.length(), MAX_ATTEMPTS);
+        for (int size : new int[] {0, 1, 1, 5, 8, 100, Integer.MAX_VALUE}) {
+            analytics.recordMove(1, 0, size);
+        }
+        assertEquals(0, analytics.percentileCandidates(1, 1));
+        assertEquals(1, analytics.percentileCandidates(1, 40));
+        assertEquals(7, analytics.percentileCandidates(1, 50));
+        assertEquals(15, analytics.percentileCandidates(1, 70));
+        assertEquals(127, analytics.percentileCandidates(1, 80));
+        assertEquals(Integer.MAX_VALUE, analytics.percentileCandidates(1, 99));
+        assertEquals(0, analytics.percentileCandidates(2, 50));
+    }
+
+    // Opening rows are listed in first-seen order, which differs between merged and one-pass analytics.
+    static void assertSame(GameAnalytics expected, GameAnalytics actual) {
+        assertEquals(expected.games(), actual.games());
+        assertEquals(expected.wins(), actual.wins());
+        for (int move = 0; move <= MAX_ATTEMPTS; move++) {
+            assertArrayEquals(expected.candidateHistogram(move), actual.candidateHistogram(move));
+            assertEquals(expected.meanCandidates(move), actual.meanCandidates(move));
+            for (int feedback = 0; feedback < Scorer.slots(SPACE.length()); feedback++) {
+                assertEquals(expected.feedbackCount(move, feedback), actual.feedbackCount(move, feedback));
+            }
+        }
+        assertArrayEquals(sortedLines(expected), sortedLines(actual));
+    }
+
+    private static String[] sortedLines(GameAnalytics analytics) {
+        String[] lines = analytics.toString().split(System.lineSeparator());
+        Arrays.sort(lines);
+        return lines;
+    }
+}
@@ -0,0 +1,49 @@
+package mastermind.solver;
+
+import mastermind.engine.CodeSpace;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OpeningBookTest {
+    private static final CodeSpace SPACE = CodeSpace.of(4, false, false);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rejectsCorruptHeaders() throws IOException {
+        assertDoesNotThrow(() -> OpeningBook.load(book(0, 1, 1), SPACE, 16));
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(book(200, 1, 1), SPACE, 16));
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(book(0, 0, 1), SPACE, 16));
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(book(0, 99, 1), SPACE, 16));
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(book(0, 1, -1), SPACE, 16));
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(book(0, 1, 1 << 28), SPACE, 16));
+    }
+
+    // A header with the given strategy ordinal, depth and entry count, followed by a single entry.
+    private Path book(int strategy, int depth, int count) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x4D4D4F42);
+        out.writeInt(1);
+        out.writeByte(SPACE.length());
+        out.writeByte(SPACE.symbolCount());
+        out.writeByte(strategy);
+        out.writeByte(depth);
+        out.writeInt(count);
+        out.writeLong(OpeningBook.ROOT);
+        out.writeLong(SPACE.code(7));
+        Path path = Files.createTempFile(dir, "opening", ".book");
+        Files.write(path, bytes.toByteArray());
+        return path;
+    }
+}
@@ -0,0 +1,116 @@
+package mastermind.solver;
+
+import mastermind.engine.CodeSpace;
+import mastermind.engine.Scorer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OptimalSearchTest {
+    @TempDir
+    Path tables;
+
+    @BeforeEach
+    void useTempTables() {
+        System.setProperty("mastermind.tableDir", tables.toString());
+    }
+
+    // Two pegs of two symbols: guessing 11 solves 22 next and leaves 12 and 21 to two more guesses, 1 + 2 + 2 + 3.
+    @Test
+    void findsKnownOptimum() {
+        assertEquals(8, new OptimalSearch(CodeSpace.of(2, 2)).solve());
+    }
+
+    @Test
+    void matchesExhaustiveSearch() {
+        for (CodeSpace space : new CodeSpace[] {CodeSpace.of(2, 3), CodeSpace.of(3, 2), CodeSpace.of(3, 3)}) {
+            long[] codes = space.codes();
+            assertEquals(exhaustive(space, codes, (1L << codes.length) - 1, new HashMap<>()), new OptimalSearch(space).solve(), space.toString());
+        }
+    }
+
+    @Test
+    void rejectsTruncatedTrees() throws IOException {
+        CodeSpace space = CodeSpace.of(3, 3);
+        Path path = tables.resolve("optimal.tree");
+        new OptimalSearch(space).tree().save(path);
+        byte[] bytes = Files.readAllBytes(path);
+        assertEquals(73, Math.round(DecisionTree.load(path, space).expectedGuesses() * space.size()));
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> DecisionTree.load(path, space));
+        Files.write(path, Arrays.copyOf(bytes, bytes.length + 16));
+        assertThrows(IOException.class, () -> DecisionTree.load(path, space));
+        bytes[21] = (byte) 0xFF;
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> DecisionTree.load(path, space));
+    }
+
+    @Test
+    void memoLimitOnlyCostsTime() {
+        CodeSpace space = CodeSpace.of(3, 4);
+        OptimalSearch unlimited = new OptimalSearch(space);
+        OptimalSearch capped = new OptimalSearch(space, 4);
+        assertEquals(unlimited.solve(), capped.solve());
+        assertTrue(capped.memoized() <= 4 + Runtime.getRuntime().availableProcessors());
+    }
+
+    // A single peg of twelve symbols can take twelve guesses, past what a history key can encode.
+    @Test
+    void reportsTruncatedStrategies() {
+        OptimalSearch search = new OptimalSearch(CodeSpace.of(1, 12));
+        search.solve();
+        PrintStream err = System.err;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true));
+        try {
+            search.tree();
+        } finally {
+            System.setErr(err);
+        }
+        assertTrue(captured.toString().contains("4 secrets need more"), captured.toString());
+    }
+
+    // Total guesses to solve every code in the set, trying every code as the next guess and skipping guesses that
+    // cannot split it.
+    private static long exhaustive(CodeSpace space, long[] codes, long set, Map<Long, Long> memo) {
+        Long known = memo.get(set);
+        if (known != null) {
+            return known;
+        }
+        int solved = Scorer.solved(space.length());
+        long best = Long.MAX_VALUE;
+        for (long guess : codes) {
+            Map<Integer, Long> classes = new HashMap<>();
+            for (int i = 0; i < codes.length; i++) {
+                if ((set >>> i & 1) != 0) {
+                    classes.merge(Scorer.score(codes[i], guess, space.length()), 1L << i, (a, b) -> a | b);
+                }
+            }
+            if (classes.size() == 1 && !classes.containsKey(solved)) {
+                continue;
+            }
+            long total = Long.bitCount(set);
+            for (Map.Entry<Integer, Long> entry : classes.entrySet()) {
+                if (entry.getKey() != solved) {
+                    total += exhaustive(space, codes, entry.getValue(), memo);
+                }
+            }
+            best = Math.min(best, total);
+        }
+        memo.put(set, best);
+        return best;
+    }
+}
@@ -0,0 +1,71 @@
+package mastermind.stats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatsStoreTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void snapshotRoundTrips() {
+        Path path = dir.resolve("players.stats");
+        try (StatsStore store = StatsStore.open(path, 0)) {
+            store.record("ada", GameMode.NUMBERS, true, 5, 1200);
+            store.record("ada", GameMode.NUMBERS, false, 10, 3000);
+        }
+        try (StatsStore store = StatsStore.open(path, 0)) {
+            PlayerStats stats = store.get("ada", GameMode.NUMBERS);
+            assertEquals(2, stats.games());
+            assertEquals(1, stats.wins());
+            assertEquals(1200, stats.bestMillis());
+        }
+    }
+
+    @Test
+    void corruptRecordsStartAnEmptyStore() throws IOException {
+        assertEmpty(snapshot(1, 0, 0));
+        assertEmpty(snapshot(-1, 0, 0));
+        assertEmpty(snapshot(0, 200, 0));
+        assertEmpty(snapshot(0, 0, 33));
+    }
+
+    private void assertEmpty(Path path) {
+        try (StatsStore store = StatsStore.open(path, 0)) {
+            assertEquals(0, store.size());
+        }
+    }
+
+    // One player and one record with the given player index, mode ordinal and attempt bucket count.
+    private Path snapshot(int player, int mode, int buckets) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x4D4D5053);
+        out.writeInt(1);
+        out.writeInt(1);
+        out.writeUTF("ada");
+        out.writeInt(1);
+        out.writeInt(player);
+        out.writeByte(mode);
+        out.writeInt(1);
+        out.writeInt(1);
+        out.writeInt(1);
+        out.writeInt(1);
+        out.writeLong(1000);
+        out.writeByte(buckets);
+        for (int b = 0; b < buckets; b++) {
+            out.writeInt(1);
+        }
+        Path path = Files.createTempFile(dir, "players", ".stats");
+        Files.write(path, bytes.toByteArray());
+        return path;
+    }
+}